@@ -0,0 +1,59 @@
+package com.linkedais.backend.benchmark;
+
+import com.linkedais.backend.LinkedaisBackendApplication;
+import com.linkedais.backend.service.BulkDataSeeder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application against an in-memory H2 database and seeds it with
+ * {@link BulkDataSeeder} (Zipf-skewed, so the first seeded user and post are
+ * the heaviest).
+ *
+ * Volumes are system properties of the forked benchmark JVM, e.g.
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=Service -Djmh.jvmArgs="-Dbench.posts=200000"
+ * The defaults are small enough for a quick local run.
+ */
+final class BenchmarkContext {
+
+    record Started(ConfigurableApplicationContext context, BulkDataSeeder.Result seeded) {}
+
+    private BenchmarkContext() {}
+
+    static Started start(String... extraProperties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LinkedaisBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "jwt.secret=benchmark_secret_key_at_least_32_characters_long",
+                        "jwt.expiration-ms=3600000",
+                        "posts.counters.reconcile-interval-ms=3600000",
+                        // H2 has no ON CONFLICT ... DO UPDATE; measure the plain batched insert path
+                        "notifications.grouping.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(extraProperties)
+                .run();
+        BulkDataSeeder seeder = new BulkDataSeeder(context.getBean(JdbcTemplate.class), "{noop}x", 500, 20);
+        return new Started(context, seeder.seed(volumes(), 42));
+    }
+
+    private static BulkDataSeeder.Volumes volumes() {
+        return new BulkDataSeeder.Volumes(
+                Integer.getInteger("bench.users", 1_000),
+                Integer.getInteger("bench.posts", 10_000),
+                Integer.getInteger("bench.likes", 50_000),
+                Integer.getInteger("bench.comments", 30_000),
+                Integer.getInteger("bench.connections", 5_000),
+                Integer.getInteger("bench.messages", 20_000),
+                Integer.getInteger("bench.courses", 40),
+                Integer.getInteger("bench.enrollments", 10_000),
+                Double.parseDouble(System.getProperty("bench.zipf", "1.1")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.linkedais.backend.benchmark;
+
+import com.linkedais.backend.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT validation cost: a key and parser rebuilt for every token
+ * (the old JwtUtil) vs the shared parser with kid-based key lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_at_least_32_characters_long";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, "primary", "old=retired_secret_key_at_least_32_characters_long");
+        token = jwtUtil.generateToken("jonas@test.lt",
+                Map.of("uid", 1L, "name", "Jonas Jonaitis", "email", "jonas@test.lt", "role", "USER"));
+    }
+
+    @Benchmark
+    public Jws<Claims> perRequestParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token);
+    }
+
+    @Benchmark
+    public Jws<Claims> sharedParser() {
+        return jwtUtil.validate(token);
+    }
+}
@@ -0,0 +1,111 @@
+package com.linkedais.backend.benchmark;
+
+import com.linkedais.backend.service.LikeBuffer;
+import com.linkedais.backend.service.LikeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1k users liking the same (hottest) post at once, with and without the
+ * write-behind LikeBuffer. Scores are likes per second:
+ * - likeBurst: until every likePost call has returned (what the users wait for)
+ * - likeBurstUntilStored: until the likes and like_count are in the database
+ *   (for the buffered variant this includes the flush)
+ *
+ * Every invocation starts from the same state: the likes of the previous burst
+ * are deleted and like_count is recounted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LikeBurstBenchmark {
+
+    private static final int LIKERS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean buffered;
+
+    private ConfigurableApplicationContext context;
+    private LikeService likeService;
+    private LikeBuffer likeBuffer;
+    private JdbcTemplate jdbcTemplate;
+    private ExecutorService likers;
+    private long firstUserId;
+    private long hotPostId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContext.Started started = BenchmarkContext.start(
+                "likes.buffer.enabled=" + buffered,
+                // Flushed by the benchmark itself, not by the scheduler in the middle of a burst
+                "likes.buffer.flush-interval-ms=3600000");
+        context = started.context();
+        firstUserId = started.seeded().firstUserId();
+        hotPostId = started.seeded().firstPostId();
+        likeService = context.getBean(LikeService.class);
+        likeBuffer = context.getBeanProvider(LikeBuffer.class).getIfAvailable();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        likers = Executors.newFixedThreadPool(LIKERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        likers.shutdownNow();
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        if (likeBuffer != null) {
+            likeBuffer.flush();
+        }
+        jdbcTemplate.update("DELETE FROM likes WHERE post_id = ? AND user_id BETWEEN ? AND ?",
+                hotPostId, firstUserId, firstUserId + LIKERS - 1);
+        jdbcTemplate.update("UPDATE posts SET like_count = (SELECT COUNT(*) FROM likes WHERE post_id = ?) WHERE id = ?",
+                hotPostId, hotPostId);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LIKERS)
+    public void likeBurst() throws Exception {
+        burst();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LIKERS)
+    public void likeBurstUntilStored() throws Exception {
+        burst();
+        if (likeBuffer != null) {
+            likeBuffer.flush();
+        }
+    }
+
+    private void burst() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(LIKERS);
+        for (int i = 0; i < LIKERS; i++) {
+            long userId = firstUserId + i;
+            futures.add(likers.submit(() -> {
+                start.await();
+                likeService.likePost(hotPostId, userId);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
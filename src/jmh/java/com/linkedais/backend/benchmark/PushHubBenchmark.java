@@ -0,0 +1,78 @@
+package com.linkedais.backend.benchmark;
+
+import com.linkedais.backend.dto.MessageResponse;
+import com.linkedais.backend.service.PushHub;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fan-out cost of PushHub with many idle simulated clients.
+ * Clients are SseEmitters that count events instead of writing to a socket,
+ * so this measures the hub itself; run with -prof gc for per-event allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PushHubBenchmark {
+
+    // Two tabs per user on average
+    @Param({"10000", "50000"})
+    public int clients;
+
+    private PushHub hub;
+    private int users;
+    private final LongAdder delivered = new LongAdder();
+    private final MessageResponse payload = new MessageResponse(1L, 1L, "Jonas Jonaitis", 2L, "Ona Onaitė",
+            "Labas!", null, false, LocalDateTime.now());
+
+    static final class CountingEmitter extends SseEmitter {
+        private final LongAdder delivered;
+
+        CountingEmitter(LongAdder delivered) {
+            super(Long.MAX_VALUE);
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build(); // serialize the event parts like the real emitter would
+            delivered.increment();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Writes inline: the benchmark thread plays the sender pool
+        hub = new PushHub(Runnable::run, Long.MAX_VALUE);
+        users = clients / 2;
+        for (int i = 0; i < clients; i++) {
+            hub.register((long) (i % users) + 1, new CountingEmitter(delivered));
+        }
+    }
+
+    @Benchmark
+    public void publishToConnectedUser() {
+        long userId = ThreadLocalRandom.current().nextInt(users) + 1;
+        hub.publish(userId, "message", payload);
+    }
+
+    @Benchmark
+    public void publishToOfflineUser() {
+        hub.publish(-1L, "message", payload);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void publishConcurrently() {
+        long userId = ThreadLocalRandom.current().nextInt(users) + 1;
+        hub.publish(userId, "message", payload);
+    }
+}
@@ -0,0 +1,146 @@
+package com.linkedais.backend.benchmark;
+
+import com.linkedais.backend.dto.ConnectionSuggestion;
+import com.linkedais.backend.dto.MessageResponse;
+import com.linkedais.backend.dto.PostResponse;
+import com.linkedais.backend.dto.UserProfileDTO;
+import com.linkedais.backend.dto.UserSearchResponse;
+import com.linkedais.backend.model.Comment;
+import com.linkedais.backend.model.Post;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.CommentRepository;
+import com.linkedais.backend.repository.PostRepository;
+import com.linkedais.backend.repository.UserRepository;
+import com.linkedais.backend.service.ConnectionGraphSnapshot;
+import com.linkedais.backend.service.ConnectionSuggestionService;
+import com.linkedais.backend.service.DegreeProgressService;
+import com.linkedais.backend.service.MessageService;
+import com.linkedais.backend.service.NotificationService;
+import com.linkedais.backend.service.PostService;
+import com.linkedais.backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer hot paths against a seeded H2 database (see BenchmarkContext),
+ * measured for the most active user and post.
+ *
+ * SampleTime reports the latency distribution (p50/p99/p99.9), not only the
+ * mean. Paged reads run for each pageSize; setUp fails the trial if the feed
+ * no longer comes back in one statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private long heavyUserId;
+    private long hotPostId;
+    private PostService postService;
+    private MessageService messageService;
+    private NotificationService notificationService;
+    private DegreeProgressService degreeProgressService;
+    private ConnectionSuggestionService connectionSuggestionService;
+    private UserService userService;
+    private PostRepository postRepository;
+    private CommentRepository commentRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContext.Started started = BenchmarkContext.start();
+        context = started.context();
+        heavyUserId = started.seeded().firstUserId();
+        hotPostId = started.seeded().firstPostId();
+        postService = context.getBean(PostService.class);
+        messageService = context.getBean(MessageService.class);
+        notificationService = context.getBean(NotificationService.class);
+        degreeProgressService = context.getBean(DegreeProgressService.class);
+        connectionSuggestionService = context.getBean(ConnectionSuggestionService.class);
+        userService = context.getBean(UserService.class);
+        // Seeded rows bypass the app, so the graph snapshot is rebuilt explicitly
+        context.getBean(ConnectionGraphSnapshot.class).rebuild();
+        postRepository = context.getBean(PostRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        checkFeedIsOneStatement();
+    }
+
+    // Statistics are switched on only around the check, so they do not cost anything in the measurement
+    private void checkFeedIsOneStatement() {
+        Statistics statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        postService.getAllPosts(0, pageSize);
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        if (statements != 1) {
+            throw new IllegalStateException("getAllPosts(0, " + pageSize + ") ran " + statements + " statements, expected 1");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostResponse> getAllPosts() {
+        return postService.getAllPosts(0, pageSize);
+    }
+
+    @Benchmark
+    public List<MessageResponse> getConversations() {
+        return messageService.getConversations(heavyUserId, 0, pageSize);
+    }
+
+    @Benchmark
+    public Map<String, Object> degreeProgress() {
+        return degreeProgressService.getDegreeProgressByUserId(heavyUserId);
+    }
+
+    @Benchmark
+    public UserProfileDTO publicProfile() {
+        return userService.getPublicProfile(heavyUserId);
+    }
+
+    @Benchmark
+    public List<ConnectionSuggestion> connectionSuggestions() {
+        return connectionSuggestionService.getSuggestions(heavyUserId, 10);
+    }
+
+    @Benchmark
+    public List<UserSearchResponse> mutualConnections() {
+        return connectionSuggestionService.getMutualConnections(heavyUserId, heavyUserId + 1);
+    }
+
+    // Rolled back so every invocation sees the same data
+    @Benchmark
+    public void createCommentNotifications() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = postRepository.findById(hotPostId).orElseThrow();
+            User author = userRepository.findById(heavyUserId + 1).orElseThrow();
+            Comment comment = commentRepository.findByPostId(hotPostId).get(0);
+            notificationService.createCommentNotifications(post, comment, author);
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.linkedais.backend.controller;
+
+import com.linkedais.backend.security.TokenAuthenticationCache;
+import com.linkedais.backend.security.TokenRevocations;
+import com.linkedais.backend.service.ConnectionGraphCache;
+import com.linkedais.backend.service.UnreadNotificationCounter;
+import com.linkedais.backend.service.UserIdentityCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admin Cache Controller
+ * Hit/miss/eviction statistics of the in-memory caches (admin only, see SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+public class AdminCacheController {
+
+    private final UserIdentityCache userIdentityCache;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
+    private final TokenRevocations tokenRevocations;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final ConnectionGraphCache connectionGraphCache;
+
+    public AdminCacheController(UserIdentityCache userIdentityCache,
+                                TokenAuthenticationCache tokenAuthenticationCache,
+                                TokenRevocations tokenRevocations,
+                                UnreadNotificationCounter unreadNotificationCounter,
+                                ConnectionGraphCache connectionGraphCache) {
+        this.userIdentityCache = userIdentityCache;
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
+        this.tokenRevocations = tokenRevocations;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.connectionGraphCache = connectionGraphCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("userIdentity", userIdentityCache.stats());
+        stats.put("tokenAuthentication", tokenAuthenticationCache.stats());
+        stats.put("tokenVersions", tokenRevocations.stats());
+        stats.put("unreadNotifications", unreadNotificationCounter.stats());
+        stats.put("connectionGraph", connectionGraphCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -4,7 +4,9 @@ import com.linkedais.backend.dto.AuthRequest;
 import com.linkedais.backend.dto.AuthResponse;
 import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.UserRepository;
+import com.linkedais.backend.security.AuthenticatedUser;
 import com.linkedais.backend.security.JwtUtil;
+import com.linkedais.backend.security.TokenRevocations;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +28,7 @@ import java.util.Map;
  * Available endpoints:
  * POST /api/auth/register - Create a new user account
  * POST /api/auth/login    - Login with email and password
+ * POST /api/auth/logout   - Revoke all tokens of the current user
  */
 @RestController  // This is a REST API controller (returns JSON, not HTML pages)
 @RequestMapping("/api/auth")  // All endpoints start with /api/auth
@@ -36,14 +39,17 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;   // To hash passwords securely
     private final JwtUtil jwtUtil;                  // To generate JWT tokens
     private final AuthenticationManager authenticationManager;  // To verify login credentials
+    private final TokenRevocations tokenRevocations;  // To invalidate issued tokens on logout
 
     // Constructor injection - Spring provides all these automatically
     public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, 
-                         JwtUtil jwtUtil, AuthenticationManager authenticationManager) {
+                         JwtUtil jwtUtil, AuthenticationManager authenticationManager,
+                         TokenRevocations tokenRevocations) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.tokenRevocations = tokenRevocations;
     }
 
     /**
@@ -77,9 +83,11 @@ public class AuthController {
 
         // Step 4: Create JWT token claims (data stored in the token)
         Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", user.getId());
         claims.put("name", user.getName());
         claims.put("email", user.getEmail());
         claims.put("role", user.getRole());
+        claims.put("ver", user.getTokenVersion());  // Revoked by a later logout (TokenRevocations)
 
         // Step 5: Generate JWT token
         String token = jwtUtil.generateToken(user.getEmail(), claims);
@@ -112,9 +120,11 @@ public class AuthController {
 
             // Step 3: Create JWT token claims
             Map<String, Object> claims = new HashMap<>();
+            claims.put("uid", user.getId());
             claims.put("name", user.getName());
             claims.put("email", user.getEmail());
             claims.put("role", user.getRole());
+            claims.put("ver", user.getTokenVersion());
 
             // Step 4: Generate JWT token
             String token = jwtUtil.generateToken(user.getEmail(), claims);
@@ -129,4 +139,20 @@ public class AuthController {
                     .body(Map.of("error", "Invalid credentials"));
         }
     }
+
+    /**
+     * LOGOUT ENDPOINT
+     * POST /api/auth/logout
+     *
+     * Revokes every token issued to the current user so far (all devices),
+     * including ones already cached by JwtAuthenticationFilter.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(AuthenticatedUser user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        tokenRevocations.revokeAll(user.id());
+        return ResponseEntity.noContent().build();
+    }
 }
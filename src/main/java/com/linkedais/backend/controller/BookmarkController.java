@@ -1,6 +1,7 @@
 package com.linkedais.backend.controller;
 
 import com.linkedais.backend.model.Post;
+import com.linkedais.backend.security.AuthenticatedUser;
 import com.linkedais.backend.service.BookmarkService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -8,8 +9,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-
 @RestController
 @RequestMapping("/api/bookmarks")
 public class BookmarkController {
@@ -18,20 +17,20 @@ public class BookmarkController {
     private BookmarkService bookmarkService;
 
     @PostMapping("/{postId}")
-    public ResponseEntity<Void> addBookmark(@PathVariable Long postId, Principal principal) {
-        bookmarkService.addBookmark(postId, principal.getName());
+    public ResponseEntity<Void> addBookmark(@PathVariable Long postId, AuthenticatedUser user) {
+        bookmarkService.addBookmark(postId, user.id());
         return ResponseEntity.status(201).build();
     }
 
     @DeleteMapping("/{postId}")
-    public ResponseEntity<Void> removeBookmark(@PathVariable Long postId, Principal principal) {
-        bookmarkService.removeBookmark(postId, principal.getName());
+    public ResponseEntity<Void> removeBookmark(@PathVariable Long postId, AuthenticatedUser user) {
+        bookmarkService.removeBookmark(postId, user.id());
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
-    public ResponseEntity<Page<Post>> getUserBookmarks(Principal principal, Pageable pageable) {
-        Page<Post> bookmarks = bookmarkService.getUserBookmarks(principal.getName(), pageable);
+    public ResponseEntity<Page<Post>> getUserBookmarks(AuthenticatedUser user, Pageable pageable) {
+        Page<Post> bookmarks = bookmarkService.getUserBookmarks(user.id(), pageable);
         return ResponseEntity.ok(bookmarks);
     }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.linkedais.backend.controller;
 
 import com.linkedais.backend.dto.ConnectionResponse;
+import com.linkedais.backend.dto.ConnectionSuggestion;
+import com.linkedais.backend.dto.UserSearchResponse;
+import com.linkedais.backend.security.AuthenticatedUser;
 import com.linkedais.backend.service.ConnectionService;
+import com.linkedais.backend.service.ConnectionSuggestionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +19,9 @@ public class ConnectionController {
     @Autowired
     private ConnectionService connectionService;
 
+    @Autowired
+    private ConnectionSuggestionService connectionSuggestionService;
+
     @PostMapping("/send/{receiverId}")
     public ResponseEntity<Void> sendRequest(@PathVariable Long receiverId, Principal principal) {
         connectionService.sendRequest(principal.getName(), receiverId);
@@ -31,16 +38,26 @@ public class ConnectionController {
         return ResponseEntity.ok().build();
     }
     @GetMapping("/status/{receiverId}")
-    public ResponseEntity<String> getStatus(@PathVariable Long receiverId, Principal principal) {
-        String status = connectionService.getConnectionStatus(principal.getName(), receiverId);
+    public ResponseEntity<String> getStatus(@PathVariable Long receiverId, AuthenticatedUser user) {
+        String status = connectionService.getConnectionStatus(user.id(), receiverId);
         return ResponseEntity.ok(status);
     }
     @GetMapping("/pending")
-    public ResponseEntity<List<ConnectionResponse>> getPendingRequests(Principal principal) {
-        return ResponseEntity.ok(connectionService.getPendingRequests(principal.getName()));
+    public ResponseEntity<List<ConnectionResponse>> getPendingRequests(AuthenticatedUser user) {
+        return ResponseEntity.ok(connectionService.getPendingRequests(user.id()));
     }
     @GetMapping("/accepted")
-    public ResponseEntity<List<ConnectionResponse>> getAcceptedConnections(Principal principal) {
-        return ResponseEntity.ok(connectionService.getAcceptedConnections(principal.getName()));
+    public ResponseEntity<List<ConnectionResponse>> getAcceptedConnections(AuthenticatedUser user) {
+        return ResponseEntity.ok(connectionService.getAcceptedConnections(user.id()));
+    }
+    // "People you may know": friends of friends and classmates, best match first
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<ConnectionSuggestion>> getSuggestions(AuthenticatedUser user,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(connectionSuggestionService.getSuggestions(user.id(), limit));
+    }
+    @GetMapping("/mutual/{userId}")
+    public ResponseEntity<List<UserSearchResponse>> getMutualConnections(@PathVariable Long userId, AuthenticatedUser user) {
+        return ResponseEntity.ok(connectionSuggestionService.getMutualConnections(user.id(), userId));
     }
 }
@@ -41,6 +41,12 @@ public class GlobalExceptionHandler {
         if (e.getMessage().equals("Forbidden")) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         }
+        if (e.getMessage().equals("Invalid cursor")) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
+        if (e.getMessage().equals("Request already sent")) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
         return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
     }
 }
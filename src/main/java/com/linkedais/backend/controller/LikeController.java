@@ -1,13 +1,11 @@
 package com.linkedais.backend.controller;
 
-import com.linkedais.backend.model.Like;
+import com.linkedais.backend.security.AuthenticatedUser;
 import com.linkedais.backend.service.LikeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-
 @RestController
 @RequestMapping("/api/posts/{postId}/likes")
 public class LikeController {
@@ -15,15 +13,15 @@ public class LikeController {
     private LikeService likeService;
 
     @PostMapping
-    public ResponseEntity<Void> likePost(@PathVariable Long postId, Principal principal)
+    public ResponseEntity<Void> likePost(@PathVariable Long postId, AuthenticatedUser user)
     {
-        likeService.likePost(postId, principal.getName());
+        likeService.likePost(postId, user.id());
         return ResponseEntity.status(201).build();
     }
 
     @DeleteMapping
-    public ResponseEntity<Void> unlikePost(@PathVariable Long postId, Principal principal) {
-        likeService.unlikePost(postId, principal.getName());
+    public ResponseEntity<Void> unlikePost(@PathVariable Long postId, AuthenticatedUser user) {
+        likeService.unlikePost(postId, user.id());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,14 +1,19 @@
 package com.linkedais.backend.controller;
 
+import com.linkedais.backend.dto.ConversationSummary;
+import com.linkedais.backend.dto.CursorPage;
 import com.linkedais.backend.dto.MessageResponse;
 import com.linkedais.backend.dto.ReplyRequest;
 import com.linkedais.backend.dto.SendMessageRequest;
 import com.linkedais.backend.model.Message;
+import com.linkedais.backend.security.AuthenticatedUser;
 import com.linkedais.backend.service.MessageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -45,9 +50,45 @@ public class MessageController {
             @RequestParam Long userBId) {
         return ResponseEntity.ok(messageService.getConversation(userAId, userBId));
     }
+    // Cursor-based history: GET /api/messages/conversation?userAId=..&userBId=..&limit=N[&before=id|&after=id]
+    @GetMapping(value = "/conversation", params = "limit")
+    public ResponseEntity<CursorPage<MessageResponse>> getConversationPage(
+            @RequestParam Long userAId,
+            @RequestParam Long userBId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam int limit) {
+        return ResponseEntity.ok(messageService.getConversationPage(userAId, userBId, before, after, limit));
+    }
+    // Full history export, streamed as a JSON array
+    @GetMapping("/conversation/export")
+    public ResponseEntity<StreamingResponseBody> exportConversation(
+            @RequestParam Long userAId,
+            @RequestParam Long userBId) {
+        StreamingResponseBody body = out -> messageService.exportConversation(userAId, userBId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
     @GetMapping("/conversations")
-    public ResponseEntity<List<MessageResponse>> getConversations(@RequestParam Long userId) {
-        return ResponseEntity.ok(messageService.getConversations(userId));
+    public ResponseEntity<List<MessageResponse>> getConversations(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageService.getConversations(userId, page, size));
+    }
+    // Inbox endpoints act on the authenticated user, never on a user id from the request
+    @GetMapping("/inbox")
+    public ResponseEntity<List<ConversationSummary>> getInbox(
+            AuthenticatedUser user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageService.getInbox(user.id(), page, size));
+    }
+    @PutMapping("/inbox/{partnerId}/read")
+    public ResponseEntity<Void> markConversationRead(
+            AuthenticatedUser user,
+            @PathVariable Long partnerId) {
+        messageService.markConversationRead(user.id(), partnerId);
+        return ResponseEntity.noContent().build();
     }
     @GetMapping("/{id}/replies")
     public ResponseEntity<List<MessageResponse>> getReplies(@PathVariable Long id) {
@@ -1,15 +1,15 @@
 package com.linkedais.backend.controller;
 
+import com.linkedais.backend.dto.CursorPage;
 import com.linkedais.backend.dto.NotificationResponse;
-import com.linkedais.backend.model.User;
-import com.linkedais.backend.repository.UserRepository;
+import com.linkedais.backend.security.AuthenticatedUser;
 import com.linkedais.backend.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -18,14 +18,22 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @GetMapping
-    public ResponseEntity<List<NotificationResponse>> getNotifications(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(notificationService.getUserNotifications(user.getId()));
+    public ResponseEntity<List<NotificationResponse>> getNotifications(AuthenticatedUser user) {
+        return ResponseEntity.ok(notificationService.getUserNotifications(user.id()));
+    }
+
+    // Cursor-based list: GET /api/notifications?limit=N[&before=<cursor>]
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<NotificationResponse>> getNotificationPage(
+            AuthenticatedUser user, @RequestParam(required = false) String before, @RequestParam int limit) {
+        return ResponseEntity.ok(notificationService.getNotificationPage(user.id(), before, limit));
+    }
+
+    // Badge polling: a cached counter, no notification rows are loaded
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(AuthenticatedUser user) {
+        return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(user.id())));
     }
 
     @PutMapping("/{id}/read")
@@ -34,11 +42,10 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
 
+    // upTo: cursor of the newest notification the client has shown; newer ones stay unread
     @PutMapping("/read-all")
-    public ResponseEntity<Void> markAllAsRead(Principal principal) {
-        User user = userRepository.findByEmail(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        notificationService.markAllAsRead(user.getId());
+    public ResponseEntity<Void> markAllAsRead(AuthenticatedUser user, @RequestParam(required = false) String upTo) {
+        notificationService.markAllAsRead(user.id(), upTo);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.linkedais.backend.controller;
 
 import com.linkedais.backend.dto.CreatePostRequest;
+import com.linkedais.backend.dto.CursorPage;
 import com.linkedais.backend.dto.PostResponse;
 import com.linkedais.backend.model.Post;
 import com.linkedais.backend.service.PostService;
@@ -31,6 +32,11 @@ public class PostController {
     public ResponseEntity<List<PostResponse>> getAllPosts(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
         return ResponseEntity.ok(postService.getAllPosts(page, size));
     }
+    // Cursor-based feed: GET /api/posts?limit=N[&before=<cursor>]
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<PostResponse>> getFeed(@RequestParam(required = false) String before, @RequestParam int limit) {
+        return ResponseEntity.ok(postService.getFeed(before, limit));
+    }
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePostById(@PathVariable Long id, Principal principal) {
         postService.deletePostById(id, principal.getName());
@@ -0,0 +1,30 @@
+package com.linkedais.backend.controller;
+
+import com.linkedais.backend.security.AuthenticatedUser;
+import com.linkedais.backend.service.PushHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of new messages and notifications for the current user.
+ * Browsers' EventSource cannot set headers, so the JWT may also be passed as
+ * ?access_token=... on this path (see JwtAuthenticationFilter).
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class PushController {
+
+    private final PushHub pushHub;
+
+    public PushController(PushHub pushHub) {
+        this.pushHub = pushHub;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(AuthenticatedUser user) {
+        return pushHub.subscribe(user.id());
+    }
+}
@@ -0,0 +1,13 @@
+package com.linkedais.backend.dto;
+
+import enums.ConnectionStatus;
+
+/**
+ * One row of the connections table without the User entities on either end.
+ */
+public record ConnectionEdge(
+        Long id,
+        Long senderId,
+        Long receiverId,
+        ConnectionStatus status
+) {}
@@ -0,0 +1,13 @@
+package com.linkedais.backend.dto;
+
+/**
+ * "People you may know" entry with the signals it was ranked by.
+ */
+public record ConnectionSuggestion(
+        Long userId,
+        String name,
+        String studyProgram,
+        int mutualConnections,
+        int sharedCourses,
+        boolean sameStudyProgram
+) {}
@@ -0,0 +1,18 @@
+package com.linkedais.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One inbox row: the conversation partner, the latest message and the
+ * number of messages the current user has not read yet.
+ */
+public record ConversationSummary(
+        Long conversationId,
+        Long partnerId,
+        String partnerName,
+        Long lastMessageId,
+        String lastMessageSnippet,
+        LocalDateTime lastMessageAt,
+        Long lastSenderId,
+        int unreadCount
+) {}
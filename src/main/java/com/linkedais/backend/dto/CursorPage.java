@@ -0,0 +1,13 @@
+package com.linkedais.backend.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a cursor-paginated list. {@code nextCursor} is opaque to clients:
+ * pass it back unchanged to fetch the following slice. No total count is computed.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {}
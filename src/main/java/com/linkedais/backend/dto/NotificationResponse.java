@@ -12,6 +12,9 @@ public class NotificationResponse {
     private boolean read;
     private LocalDateTime createdAt;
     private Long connectionId;
+    private int actorCount = 1;
+    // List position of this notification; pass the newest one shown as read-all?upTo=
+    private String cursor;
 
     public NotificationResponse() {}
 
@@ -53,4 +56,10 @@ public class NotificationResponse {
 
     public Long getConnectionId() { return connectionId; }
     public void setConnectionId(Long connectionId) { this.connectionId = connectionId; }
+
+    public int getActorCount() { return actorCount; }
+    public void setActorCount(int actorCount) { this.actorCount = actorCount; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
 }
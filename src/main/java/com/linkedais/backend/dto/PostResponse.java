@@ -14,6 +14,20 @@ public class PostResponse {
     private String authorAvatar;
     private int commentCount;
 
+    public PostResponse() {}
+
+    // Used by the feed projection query in PostRepository
+    public PostResponse(Long id, String content, LocalDateTime createdAt,
+                        Long authorId, String authorName, Integer likeCount, Integer commentCount) {
+        this.id = id;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        this.authorName = authorName;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+    }
+
     public long getId() { return id; }
     public void setId(long id) { this.id = id; }
     public String getContent() { return content; }
@@ -0,0 +1,9 @@
+package com.linkedais.backend.dto;
+
+/**
+ * How many courses a user shares with someone else (connection suggestions).
+ */
+public record SharedCourseCount(
+        Long userId,
+        Long sharedCourses
+) {}
@@ -0,0 +1,11 @@
+package com.linkedais.backend.dto;
+
+/**
+ * Minimal snapshot of a user, enough to map a JWT subject (email) to an id.
+ */
+public record UserIdentity(
+        Long id,
+        String email,
+        String name,
+        String role
+) {}
@@ -5,8 +5,22 @@ import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * A connection (or request) between two users; one row per unordered pair.
+ *
+ * sender is the requester and receiver the user asked. The pair is also
+ * stored ordered (userLowId < userHighId) so both directions hit the same
+ * unique key: a second request for the pair, even a concurrent one from the
+ * other side, fails instead of creating a mirrored row.
+ */
 @Entity
-@Table(name = "connections")
+@Table(name = "connections",
+        uniqueConstraints = @UniqueConstraint(name = "uk_connections_pair", columnNames = {"user_low_id", "user_high_id"}),
+        indexes = {
+                // A user's edges by status from either side, without touching the table for the peer id
+                @Index(name = "idx_connections_low_status", columnList = "user_low_id, status, user_high_id"),
+                @Index(name = "idx_connections_high_status", columnList = "user_high_id, status, user_low_id")
+        })
 public class Connection {
 
     @Id
@@ -21,6 +35,13 @@ public class Connection {
     @JoinColumn(name = "receiver_id", nullable = false)
     private User receiver;
 
+    // Canonical pair, kept in sync with sender/receiver (see syncPair)
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+
     @Enumerated(EnumType.STRING)
     private ConnectionStatus status;
 
@@ -29,6 +50,15 @@ public class Connection {
     @PrePersist
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
+        syncPair();
+    }
+
+    @PreUpdate
+    public void syncPair() {
+        long a = sender.getId();
+        long b = receiver.getId();
+        this.userLowId = Math.min(a, b);
+        this.userHighId = Math.max(a, b);
     }
 
     public Long getId() {
@@ -55,6 +85,12 @@ public class Connection {
     public void setStatus(ConnectionStatus status) {
         this.status = status;
     }
+    public Long getUserLowId() {
+        return userLowId;
+    }
+    public Long getUserHighId() {
+        return userHighId;
+    }
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,92 @@
+package com.linkedais.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inbox summary of the messages between two users, one row per user pair.
+ *
+ * The pair is stored ordered (userLow.id < userHigh.id) so both directions
+ * map to the same row. MessageService keeps it up to date in the same
+ * transaction as the message itself, so the inbox never reads `messages`.
+ */
+@Entity
+@Table(name = "conversations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_conversations_pair", columnNames = {"user_low_id", "user_high_id"}),
+        indexes = {
+                // Inbox of either participant, newest first
+                @Index(name = "idx_conversations_low_last", columnList = "user_low_id, last_message_at"),
+                @Index(name = "idx_conversations_high_last", columnList = "user_high_id, last_message_at")
+        })
+public class Conversation {
+
+    public static final int SNIPPET_LENGTH = 120;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_low_id", nullable = false)
+    private User userLow;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_high_id", nullable = false)
+    private User userHigh;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_snippet", length = SNIPPET_LENGTH)
+    private String lastMessageSnippet;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    // Messages not yet read by userLow / userHigh
+    @Column(name = "unread_low", nullable = false)
+    private int unreadLow = 0;
+
+    @Column(name = "unread_high", nullable = false)
+    private int unreadHigh = 0;
+
+    // Newest message id each side has read (markRead); a deleted message above it was still unread
+    @Column(name = "read_up_to_low")
+    private Long readUpToLow;
+
+    @Column(name = "read_up_to_high")
+    private Long readUpToHigh;
+
+    protected Conversation() {}
+
+    public Conversation(User userLow, User userHigh) {
+        this.userLow = userLow;
+        this.userHigh = userHigh;
+    }
+
+    public Long getId() { return id; }
+
+    public User getUserLow() { return userLow; }
+
+    public User getUserHigh() { return userHigh; }
+
+    public Long getLastMessageId() { return lastMessageId; }
+
+    public String getLastMessageSnippet() { return lastMessageSnippet; }
+
+    public LocalDateTime getLastMessageAt() { return lastMessageAt; }
+
+    public Long getLastSenderId() { return lastSenderId; }
+
+    public int getUnreadLow() { return unreadLow; }
+
+    public int getUnreadHigh() { return unreadHigh; }
+
+    public Long getReadUpToLow() { return readUpToLow; }
+
+    public Long getReadUpToHigh() { return readUpToHigh; }
+}
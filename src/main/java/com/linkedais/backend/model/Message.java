@@ -5,7 +5,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages",
+        indexes = {
+                // Inbox: each user's sent/received messages by recency (see MessageRepository.findInboxMessageIds)
+                @Index(name = "idx_messages_sender_created", columnList = "sender_id, created_at"),
+                @Index(name = "idx_messages_receiver_created", columnList = "receiver_id, created_at"),
+                // Conversation history by message id cursor (see MessageRepository.findConversationBefore)
+                @Index(name = "idx_messages_pair_id", columnList = "sender_id, receiver_id, id")
+        })
 public class Message {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,7 +31,8 @@ public class Message {
 
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    // LAZY: conversation pages and the export only need the parent's id, which the proxy holds
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_message_id")
     private Message parentMessage;
 
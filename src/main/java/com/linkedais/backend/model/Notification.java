@@ -4,11 +4,20 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+        // One aggregate row per user and group (see NotificationAggregator); NULL group keys never conflict
+        uniqueConstraints = @UniqueConstraint(name = "uk_notifications_user_group", columnNames = {"user_id", "group_key"}),
+        indexes = {
+                // Keyset pagination of a user's notifications (see NotificationRepository.findBefore).
+                // The partial index on unread rows is in db/migration/003_notifications_indexes.sql
+                @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at DESC, id DESC")
+        })
 public class Notification {
 
+    // Sequence (not IDENTITY) so Hibernate can batch inserts; ids are handed out 50 at a time
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -36,6 +45,17 @@ public class Notification {
     @Column(name = "connection_id")
     private Long connectionId;
 
+    // Set on aggregated notifications, e.g. "COMMENT_REPLY:post:42"
+    @Column(name = "group_key", length = 100)
+    private String groupKey;
+
+    // How many actors the (aggregated) notification stands for
+    @Column(name = "actor_count", columnDefinition = "integer default 1 not null")
+    private int actorCount = 1;
+
+    @Column(name = "last_actor_id")
+    private Long lastActorId;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -68,4 +88,13 @@ public class Notification {
 
     public Long getConnectionId() { return connectionId; }
     public void setConnectionId(Long connectionId) { this.connectionId = connectionId; }
+
+    public String getGroupKey() { return groupKey; }
+    public void setGroupKey(String groupKey) { this.groupKey = groupKey; }
+
+    public int getActorCount() { return actorCount; }
+    public void setActorCount(int actorCount) { this.actorCount = actorCount; }
+
+    public Long getLastActorId() { return lastActorId; }
+    public void setLastActorId(Long lastActorId) { this.lastActorId = lastActorId; }
 }
@@ -0,0 +1,63 @@
+package com.linkedais.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event that ran out of retries, kept with its last error for
+ * inspection. Parked events live here rather than in notification_outbox,
+ * so they never hold the (type, subject_id) key of a later event.
+ */
+@Entity
+@Table(name = "notification_outbox_dead")
+public class OutboxDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // When the original event was enqueued
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "parked_at", nullable = false)
+    private LocalDateTime parkedAt;
+
+    protected OutboxDeadLetter() {}
+
+    public OutboxDeadLetter(OutboxEvent event, LocalDateTime parkedAt) {
+        this.type = event.getType();
+        this.subjectId = event.getSubjectId();
+        this.attempts = event.getAttempts();
+        this.lastError = event.getLastError();
+        this.createdAt = event.getCreatedAt();
+        this.parkedAt = parkedAt;
+    }
+
+    public Long getId() { return id; }
+
+    public String getType() { return type; }
+
+    public Long getSubjectId() { return subjectId; }
+
+    public int getAttempts() { return attempts; }
+
+    public String getLastError() { return lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getParkedAt() { return parkedAt; }
+}
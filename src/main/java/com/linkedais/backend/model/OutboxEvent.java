@@ -0,0 +1,73 @@
+package com.linkedais.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification fan-out that still has to happen (transactional outbox).
+ *
+ * Written in the same transaction as the comment/connection change that
+ * caused it and deleted once NotificationDispatcher has created the
+ * notifications. (type, subject_id) is unique, so the same event enqueued
+ * twice while pending is stored once.
+ *
+ * Events that run out of retries move to {@link OutboxDeadLetter}, so every
+ * row here is still due at some point and the unique key never blocks a new
+ * event behind a parked one.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_outbox_event", columnNames = {"type", "subject_id"}),
+        indexes = @Index(name = "idx_notification_outbox_due", columnList = "next_attempt_at, id"))
+public class OutboxEvent {
+
+    public static final String COMMENT_CREATED = "COMMENT_CREATED";
+    public static final String CONNECTION_REQUEST = "CONNECTION_REQUEST";
+    public static final String CONNECTION_ACCEPTED = "CONNECTION_ACCEPTED";
+    public static final String CONNECTION_REJECTED = "CONNECTION_REJECTED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    // Comment id for COMMENT_CREATED, connection id otherwise
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {}
+
+    public Long getId() { return id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getSubjectId() { return subjectId; }
+    public void setSubjectId(Long subjectId) { this.subjectId = subjectId; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
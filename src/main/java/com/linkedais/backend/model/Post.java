@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table (name = "posts")
+@Table (name = "posts",
+        indexes = {
+                // Keyset pagination of the feed (see PostRepository.findFeedBefore)
+                @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC")
+        })
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +23,14 @@ public class Post {
 
     private LocalDateTime createdAt;
 
+    // Denormalized counters, maintained by LikeService/CommentService and
+    // repaired by PostCounterReconciler
+    @Column(name = "like_count", nullable = false, columnDefinition = "integer default 0")
+    private int likeCount = 0;
+
+    @Column(name = "comment_count", nullable = false, columnDefinition = "integer default 0")
+    private int commentCount = 0;
+
     @PrePersist
     protected void onCreate()
     {
@@ -34,4 +46,8 @@ public class Post {
     public void setAuthor(User author) { this.author = author; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public int getLikeCount() { return likeCount; }
+
+    public int getCommentCount() { return commentCount; }
 }
@@ -3,7 +3,9 @@ package com.linkedais.backend.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * User Entity - Represents a user in our database
@@ -13,6 +15,16 @@ import java.util.List;
  */
 @Entity  // This tells Spring this is a database table
 @Table(name = "users")  // The table will be called "users" in the database
+// skills and courses are LAZY: a user loaded as an author/sender/login only needs the row.
+// Screens that show them fetch one collection with the row using one of these graphs (see UserRepository).
+// Each graph holds a single collection: joining two of them multiplies the rows (skills x courses)
+// and repeats the elements of the skills bag.
+@NamedEntityGraph(name = "User.profile", attributeNodes = {
+        @NamedAttributeNode("skills")
+})
+@NamedEntityGraph(name = "User.academic", attributeNodes = {
+        @NamedAttributeNode("courses")
+})
 public class User {
     
     // Primary Key - unique ID for each user (auto-generated by database)
@@ -35,6 +47,10 @@ public class User {
     @Column(nullable = false)
     private String role = "USER"; // visi vartotojai default bus useriai
 
+    // Written into every token as "ver"; bumping it revokes all tokens issued before (see TokenRevocations)
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion = 0;
+
     @Column(length = 500)
     private String bio;
 
@@ -44,18 +60,19 @@ public class User {
     @Column(name = "study_program", length = 200)
     private String studyProgram;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     @CollectionTable(name = "user_skills", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "skill", length = 50)
     private List<String> skills = new ArrayList<>();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // A Set, so it can be fetched together with skills or completedCourseIds (only one List "bag" per query)
+    @ManyToMany
     @JoinTable(
         name = "user_courses",
         joinColumns = @JoinColumn(name = "user_id"),
         inverseJoinColumns = @JoinColumn(name = "course_id")
     )
-    private List<Course> courses = new ArrayList<>();
+    private Set<Course> courses = new HashSet<>();
 
     @Column(name = "degree_progress")
     private Integer degreeProgress;
@@ -179,11 +196,11 @@ public class User {
         this.skills = skills;
     }
 
-    public List<Course> getCourses() {
+    public Set<Course> getCourses() {
         return courses;
     }
 
-    public void setCourses(List<Course> courses) {
+    public void setCourses(Set<Course> courses) {
         this.courses = courses;
     }
 
@@ -221,4 +238,8 @@ public class User {
     public String getRole(){
         return role;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
 }
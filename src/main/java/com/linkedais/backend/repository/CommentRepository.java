@@ -2,8 +2,11 @@ package com.linkedais.backend.repository;
 
 import com.linkedais.backend.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,13 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostIdOrderByCreatedAtAsc(Long postId);
     int countByPostId(Long postId);
     List<Comment> findByPostId(Long postId);
+
+    /**
+     * Ids of everyone who commented on the post, without loading comments or users.
+     */
+    @Query("SELECT DISTINCT c.author.id FROM Comment c WHERE c.post.id = :postId")
+    List<Long> findDistinctAuthorIdsByPostId(@Param("postId") Long postId);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author JOIN FETCH c.post p JOIN FETCH p.author WHERE c.id IN :ids")
+    List<Comment> findWithPostAndAuthorByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,16 +1,53 @@
 package com.linkedais.backend.repository;
 
+import com.linkedais.backend.dto.ConnectionEdge;
 import com.linkedais.backend.model.Connection;
 import enums.ConnectionStatus;
-import org.springframework.data.repository.CrudRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ConnectionRepository extends CrudRepository<Connection,Long> {
-    Optional<Connection> findBySenderIdAndReceiverId(Long senderId, Long receiverId);
-    List<Connection> findByReceiverIdAndStatus(Long receiverId, ConnectionStatus status);
-    List<Connection> findBySenderIdAndStatus(Long senderId, ConnectionStatus status);
+public interface ConnectionRepository extends JpaRepository<Connection, Long> {
+
+    /**
+     * The connection between two users, whichever of them sent it.
+     */
+    @Query("SELECT c FROM Connection c WHERE c.userLowId = :low AND c.userHighId = :high")
+    Optional<Connection> findPair(@Param("low") Long low, @Param("high") Long high);
+
+    /**
+     * All connections a user takes part in, as ids and status only (used by ConnectionGraphCache).
+     */
+    @Query("""
+            SELECT new com.linkedais.backend.dto.ConnectionEdge(c.id, c.sender.id, c.receiver.id, c.status)
+            FROM Connection c
+            WHERE c.userLowId = :userId OR c.userHighId = :userId
+            """)
+    List<ConnectionEdge> findEdgesOf(@Param("userId") Long userId);
+
+    /**
+     * All connections with a status, as a cursor-backed stream (ConnectionGraphSnapshot).
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+            SELECT new com.linkedais.backend.dto.ConnectionEdge(c.id, c.sender.id, c.receiver.id, c.status)
+            FROM Connection c
+            WHERE c.status = :status
+            """)
+    Stream<ConnectionEdge> streamEdgesByStatus(@Param("status") ConnectionStatus status);
+
+    @Query("SELECT c FROM Connection c JOIN FETCH c.sender JOIN FETCH c.receiver WHERE c.id IN :ids")
+    List<Connection> findWithUsersByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,125 @@
+package com.linkedais.backend.repository;
+
+import com.linkedais.backend.dto.ConversationSummary;
+import com.linkedais.backend.model.Conversation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    Optional<Conversation> findByUserLowIdAndUserHighId(Long userLowId, Long userHighId);
+
+    /**
+     * Creates the row for a user pair if it does not exist yet. Safe under
+     * concurrent first messages: the loser of the race is a no-op.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO conversations (user_low_id, user_high_id, unread_low, unread_high)
+            VALUES (:low, :high, 0, 0)
+            ON CONFLICT (user_low_id, user_high_id) DO NOTHING
+            """)
+    int insertIfAbsent(@Param("low") Long low, @Param("high") Long high);
+
+    /**
+     * Records a new message. The "last message" fields only move forward
+     * (by message id), so concurrent senders cannot overwrite a newer message
+     * with an older one; the unread counter of the receiver always increments.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Conversation c SET
+                c.lastMessageId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId
+                                       THEN :messageId ELSE c.lastMessageId END,
+                c.lastMessageSnippet = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId
+                                            THEN :snippet ELSE c.lastMessageSnippet END,
+                c.lastMessageAt = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId
+                                       THEN :sentAt ELSE c.lastMessageAt END,
+                c.lastSenderId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId
+                                      THEN :senderId ELSE c.lastSenderId END,
+                c.unreadLow = c.unreadLow + :unreadLow,
+                c.unreadHigh = c.unreadHigh + :unreadHigh
+            WHERE c.userLow.id = :low AND c.userHigh.id = :high
+            """)
+    int recordMessage(@Param("low") Long low, @Param("high") Long high,
+                      @Param("messageId") Long messageId, @Param("snippet") String snippet,
+                      @Param("sentAt") LocalDateTime sentAt, @Param("senderId") Long senderId,
+                      @Param("unreadLow") int unreadLow, @Param("unreadHigh") int unreadHigh);
+
+    /**
+     * Points the summary at a given message (or clears it when messageId is null),
+     * used after the current last message was deleted.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Conversation c SET
+                c.lastMessageId = :messageId,
+                c.lastMessageSnippet = :snippet,
+                c.lastMessageAt = :sentAt,
+                c.lastSenderId = :senderId
+            WHERE c.userLow.id = :low AND c.userHigh.id = :high
+            """)
+    int replaceLastMessage(@Param("low") Long low, @Param("high") Long high,
+                           @Param("messageId") Long messageId, @Param("snippet") String snippet,
+                           @Param("sentAt") LocalDateTime sentAt, @Param("senderId") Long senderId);
+
+    /**
+     * Resets the user's unread counter and remembers the last message they have
+     * now seen (see {@link #retractUnread}).
+     */
+    @Modifying
+    @Query("""
+            UPDATE Conversation c SET
+                c.unreadLow = CASE WHEN c.userLow.id = :userId THEN 0 ELSE c.unreadLow END,
+                c.unreadHigh = CASE WHEN c.userHigh.id = :userId THEN 0 ELSE c.unreadHigh END,
+                c.readUpToLow = CASE WHEN c.userLow.id = :userId
+                                     THEN COALESCE(c.lastMessageId, c.readUpToLow) ELSE c.readUpToLow END,
+                c.readUpToHigh = CASE WHEN c.userHigh.id = :userId
+                                      THEN COALESCE(c.lastMessageId, c.readUpToHigh) ELSE c.readUpToHigh END
+            WHERE c.userLow.id = :low AND c.userHigh.id = :high
+            """)
+    int markRead(@Param("low") Long low, @Param("high") Long high, @Param("userId") Long userId);
+
+    /**
+     * Takes a deleted message back out of the receiver's unread counter, if the
+     * receiver had not read it yet (its id is above their read mark).
+     */
+    @Modifying
+    @Query("""
+            UPDATE Conversation c SET
+                c.unreadLow = CASE WHEN c.userLow.id = :receiverId AND c.unreadLow > 0
+                                        AND (c.readUpToLow IS NULL OR c.readUpToLow < :messageId)
+                                   THEN c.unreadLow - 1 ELSE c.unreadLow END,
+                c.unreadHigh = CASE WHEN c.userHigh.id = :receiverId AND c.unreadHigh > 0
+                                         AND (c.readUpToHigh IS NULL OR c.readUpToHigh < :messageId)
+                                    THEN c.unreadHigh - 1 ELSE c.unreadHigh END
+            WHERE c.userLow.id = :low AND c.userHigh.id = :high
+            """)
+    int retractUnread(@Param("low") Long low, @Param("high") Long high,
+                      @Param("receiverId") Long receiverId, @Param("messageId") Long messageId);
+
+    /**
+     * Inbox of a user, newest conversation first, served by
+     * idx_conversations_low_last / idx_conversations_high_last.
+     */
+    @Query("""
+            SELECT new com.linkedais.backend.dto.ConversationSummary(
+                c.id,
+                CASE WHEN l.id = :userId THEN h.id ELSE l.id END,
+                CASE WHEN l.id = :userId THEN h.name ELSE l.name END,
+                c.lastMessageId, c.lastMessageSnippet, c.lastMessageAt, c.lastSenderId,
+                CASE WHEN l.id = :userId THEN c.unreadLow ELSE c.unreadHigh END)
+            FROM Conversation c JOIN c.userLow l JOIN c.userHigh h
+            WHERE (l.id = :userId OR h.id = :userId)
+              AND c.lastMessageId IS NOT NULL
+            ORDER BY c.lastMessageAt DESC, c.id DESC
+            """)
+    List<ConversationSummary> findInbox(@Param("userId") Long userId, Pageable pageable);
+}
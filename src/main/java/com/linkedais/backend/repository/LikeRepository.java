@@ -5,6 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByPostIdAndUserId(Long postId, Long userId);
-    void  deleteByPostIdAndUserId(Long postId, Long userId);
-    int countByPostId(Long postId);
+    long deleteByPostIdAndUserId(Long postId, Long userId);
 }
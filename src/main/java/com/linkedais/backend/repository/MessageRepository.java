@@ -3,11 +3,19 @@ package com.linkedais.backend.repository;
 
 import com.linkedais.backend.model.Message;
 import com.linkedais.backend.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
     /**
@@ -25,6 +33,42 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findConversation(@Param("userA") User userA,
                                    @Param("userB") User userB);
 
+    String CONVERSATION_PAGE = """
+            SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.receiver
+            WHERE m.deleted = false
+              AND ((m.sender.id = :userA AND m.receiver.id = :userB)
+                OR (m.sender.id = :userB AND m.receiver.id = :userA))
+            """;
+
+    /**
+     * Newest messages of a conversation, newest first.
+     */
+    @Query(CONVERSATION_PAGE + "ORDER BY m.id DESC")
+    Slice<Message> findConversationLatest(@Param("userA") Long userA, @Param("userB") Long userB,
+                                          Pageable pageable);
+
+    /**
+     * Messages older than the cursor id, newest first.
+     */
+    @Query(CONVERSATION_PAGE + "AND m.id < :beforeId ORDER BY m.id DESC")
+    Slice<Message> findConversationBefore(@Param("userA") Long userA, @Param("userB") Long userB,
+                                          @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * Messages newer than the cursor id, oldest first (the caller reverses the slice).
+     */
+    @Query(CONVERSATION_PAGE + "AND m.id > :afterId ORDER BY m.id ASC")
+    Slice<Message> findConversationAfter(@Param("userA") Long userA, @Param("userB") Long userB,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Whole conversation, oldest first, as a cursor-backed stream for export.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(CONVERSATION_PAGE + "ORDER BY m.id ASC")
+    Stream<Message> streamConversation(@Param("userA") Long userA, @Param("userB") Long userB);
+
     /**
      * Retrieves all direct replies to a given parent message.
      * Excludes soft-deleted replies.
@@ -37,6 +81,44 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
             """)
     List<Message> findReplies(@Param("parentId") Long parentId);
 
-    List<Message> findBySenderOrderByCreatedAtAsc(User sender);
-    List<Message> findByReceiverOrderByCreatedAtAsc(User receiver);
+    /**
+     * Inbox page: id of the latest non-deleted message per conversation partner,
+     * newest conversation first. Each UNION branch is a range scan on
+     * idx_messages_sender_created / idx_messages_receiver_created, and only one
+     * row per partner leaves the database.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT ranked.id FROM (
+                SELECT t.id, t.created_at,
+                       ROW_NUMBER() OVER (PARTITION BY t.partner_id ORDER BY t.created_at DESC, t.id DESC) AS rn
+                FROM (
+                    SELECT m.id, m.created_at, m.receiver_id AS partner_id
+                    FROM messages m WHERE m.sender_id = :userId AND m.deleted = false
+                    UNION ALL
+                    SELECT m.id, m.created_at, m.sender_id AS partner_id
+                    FROM messages m WHERE m.receiver_id = :userId AND m.deleted = false
+                ) t
+            ) ranked
+            WHERE ranked.rn = 1
+            ORDER BY ranked.created_at DESC, ranked.id DESC
+            LIMIT :limit OFFSET :offset
+            """)
+    List<Long> findInboxMessageIds(@Param("userId") Long userId,
+                                   @Param("limit") int limit,
+                                   @Param("offset") long offset);
+
+    /**
+     * Latest non-deleted message between two users (use a page of size 1).
+     */
+    @Query("""
+            SELECT m FROM Message m
+            WHERE m.deleted = false
+              AND ((m.sender.id = :userA AND m.receiver.id = :userB)
+                OR (m.sender.id = :userB AND m.receiver.id = :userA))
+            ORDER BY m.createdAt DESC, m.id DESC
+            """)
+    List<Message> findLatestBetween(@Param("userA") Long userA, @Param("userB") Long userB, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.receiver WHERE m.id IN :ids")
+    List<Message> findWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,9 +1,17 @@
 package com.linkedais.backend.repository;
 
 import com.linkedais.backend.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +19,78 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
+
+    /**
+     * First slice of a user's notifications, newest first.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findLatest(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Keyset page: notifications strictly older than the (createdAt, id) cursor.
+     * Served by idx_notifications_user_created. Grouped rows that get a new
+     * event take a new createdAt, so they leave the pages below the cursor
+     * like new notifications (see NotificationAggregator).
+     */
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.id = :userId
+              AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    Slice<Notification> findBefore(@Param("userId") Long userId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    long countByUserIdAndReadFalse(Long userId);
+
+    @Query("SELECT n FROM Notification n WHERE n.groupKey = :groupKey AND n.user.id IN :userIds")
+    List<Notification> findByGroupKeyAndUserIds(@Param("groupKey") String groupKey,
+                                                @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT n.user.id FROM Notification n WHERE n.groupKey = :groupKey AND n.read = false AND n.user.id IN :userIds")
+    List<Long> findUnreadGroupMembers(@Param("groupKey") String groupKey,
+                                      @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Marks all unread notifications of a user as read in one statement.
+     * @return number of notifications that were unread
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    /**
+     * Same as {@link #markAllRead} but only for notifications at or below a list
+     * position: the (createdAt, id) of the newest notification the client has shown.
+     * Ids alone say nothing about order (they are handed out in pooled blocks per
+     * instance, and aggregates take theirs from the sequence directly), so a newer
+     * notification with a lower id stays unread.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.read = true
+            WHERE n.user.id = :userId AND n.read = false
+              AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id <= :id))
+            """)
+    int markReadUpTo(@Param("userId") Long userId,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id);
+
+    /**
+     * Deletes up to {@code limit} read notifications created before the cutoff.
+     * Each call runs in its own transaction, so retention never holds long locks.
+     *
+     * @return number of deleted rows (less than limit once nothing is left)
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            DELETE FROM notifications
+            WHERE id IN (SELECT id FROM notifications
+                         WHERE is_read = true AND created_at < :cutoff
+                         LIMIT :limit)
+            """)
+    int deleteReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
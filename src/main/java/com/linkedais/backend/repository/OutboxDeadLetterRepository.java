@@ -0,0 +1,7 @@
+package com.linkedais.backend.repository;
+
+import com.linkedais.backend.model.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+}
@@ -0,0 +1,43 @@
+package com.linkedais.backend.repository;
+
+import com.linkedais.backend.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Enqueues an event unless the same (type, subject) is already pending.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO notification_outbox (type, subject_id, attempts, next_attempt_at, created_at)
+            VALUES (:type, :subjectId, 0, :now, :now)
+            ON CONFLICT (type, subject_id) DO NOTHING
+            """)
+    int insertIfAbsent(@Param("type") String type, @Param("subjectId") Long subjectId,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Locks up to {@code limit} due events for the current transaction.
+     * Rows locked by another worker are skipped, so workers never wait on
+     * each other or process the same event twice.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM notification_outbox
+            WHERE next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<OutboxEvent> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT * FROM notification_outbox WHERE id = :id FOR UPDATE SKIP LOCKED")
+    Optional<OutboxEvent> claimById(@Param("id") Long id);
+}
@@ -1,15 +1,96 @@
 package com.linkedais.backend.repository;
 
+import com.linkedais.backend.dto.PostResponse;
 import com.linkedais.backend.model.Post;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post,Long> {
+
+    /**
+     * Feed row projection: the author is joined and like/comment counts are read
+     * from the denormalized counter columns, so the likes/comments tables are never
+     * aggregated on a feed read.
+     */
+    String FEED_PROJECTION = """
+            SELECT new com.linkedais.backend.dto.PostResponse(
+                p.id, p.content, p.createdAt, a.id, a.name, p.likeCount, p.commentCount)
+            FROM Post p JOIN p.author a
+            """;
+
     Page<Post> findAllByOrderByCreatedAtDesc(Pageable  pageable);
 
+    /**
+     * Offset-paged feed. Returns a List (not a Page) so no extra COUNT query is issued.
+     */
+    @Query(FEED_PROJECTION + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostResponse> findFeed(Pageable pageable);
+
+    /**
+     * First slice of the keyset-paged feed.
+     */
+    @Query(FEED_PROJECTION + "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostResponse> findFeedSlice(Pageable pageable);
+
+    /**
+     * Keyset-paged feed: posts strictly older than the (createdAt, id) cursor.
+     * Served by idx_posts_created_at_id, so deep slices cost the same as the first one.
+     */
+    @Query(FEED_PROJECTION + """
+            WHERE p.createdAt < :createdAt
+               OR (p.createdAt = :createdAt AND p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    Slice<PostResponse> findFeedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    /**
+     * Stored like counter of a post, without loading the post.
+     */
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :postId")
+    Optional<Integer> findLikeCount(@Param("postId") Long postId);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    /**
+     * Recomputes like/comment counters for posts with id in (fromId, toId] and
+     * rewrites only the rows that drifted. Each call runs in its own transaction.
+     *
+     * @return number of posts whose counters were repaired
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE posts
+            SET like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = posts.id),
+                comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id)
+            WHERE id > :fromId AND id <= :toId
+              AND (like_count <> (SELECT COUNT(*) FROM likes l WHERE l.post_id = posts.id)
+                OR comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id))
+            """)
+    int reconcileCounters(@Param("fromId") long fromId, @Param("toId") long toId);
+
     void deleteById(Long id);
 }
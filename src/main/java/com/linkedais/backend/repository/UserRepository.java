@@ -1,10 +1,18 @@
 package com.linkedais.backend.repository;
 
+import com.linkedais.backend.dto.SharedCourseCount;
+import com.linkedais.backend.dto.UserIdentity;
+import com.linkedais.backend.dto.UserSearchResponse;
 import com.linkedais.backend.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +43,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional containing User if found, empty Optional if not found
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Same user with skills fetched in the same query (User.profile graph),
+     * for the profile screens. Courses are loaded by one more select when
+     * first read, so call it inside a transaction.
+     */
+    @EntityGraph("User.profile")
+    Optional<User> findProfileById(Long id);
+
+    @EntityGraph("User.profile")
+    Optional<User> findProfileByEmail(String email);
+
+    /**
+     * User with courses fetched in the same query (User.academic graph),
+     * for the academic dashboard and degree progress. Completed course ids
+     * are loaded by one more select when first read.
+     */
+    @EntityGraph("User.academic")
+    Optional<User> findAcademicById(Long id);
+
+    @EntityGraph("User.academic")
+    Optional<User> findAcademicByEmail(String email);
     
     /**
      * Check if a user with given email exists
@@ -46,6 +76,59 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Current token version of a user (TokenRevocations); tokens with a lower "ver" are revoked.
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    /**
+     * Lightweight lookup used by UserIdentityCache: selects only id, email,
+     * name and role, so no skills/courses collections are loaded.
+     */
+    @Query("SELECT new com.linkedais.backend.dto.UserIdentity(u.id, u.email, u.name, u.role) FROM User u WHERE u.email = :email")
+    Optional<UserIdentity> findIdentityByEmail(@Param("email") String email);
+
+    /**
+     * Same projection for a set of ids (names for connection lists).
+     */
+    @Query("SELECT new com.linkedais.backend.dto.UserIdentity(u.id, u.email, u.name, u.role) FROM User u WHERE u.id IN :ids")
+    List<UserIdentity> findIdentitiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.linkedais.backend.dto.UserSearchResponse(u.id, u.name, u.studyProgram) FROM User u WHERE u.id IN :ids")
+    List<UserSearchResponse> findSearchResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Users taking the most courses in common with the given user (classmates), most shared first.
+     */
+    @Query("""
+            SELECT new com.linkedais.backend.dto.SharedCourseCount(other.id, COUNT(c))
+            FROM User other JOIN other.courses c
+            WHERE other.id <> :userId
+              AND c.id IN (SELECT mc.id FROM User me JOIN me.courses mc WHERE me.id = :userId)
+            GROUP BY other.id
+            ORDER BY COUNT(c) DESC
+            """)
+    List<SharedCourseCount> findClassmates(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Shared course counts between the user and the given candidates (candidates sharing none are absent).
+     */
+    @Query("""
+            SELECT new com.linkedais.backend.dto.SharedCourseCount(other.id, COUNT(c))
+            FROM User other JOIN other.courses c
+            WHERE other.id IN :candidateIds
+              AND c.id IN (SELECT mc.id FROM User me JOIN me.courses mc WHERE me.id = :userId)
+            GROUP BY other.id
+            """)
+    List<SharedCourseCount> countSharedCourses(@Param("userId") Long userId,
+                                               @Param("candidateIds") Collection<Long> candidateIds);
+
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%')) AND u.id <> :excludeId")
     List<User> searchByName(@Param("name") String name, @Param("excludeId") Long excludeId);
 }
@@ -0,0 +1,18 @@
+package com.linkedais.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal stored in the security context for JWT-authenticated requests.
+ *
+ * Carries the user id from the token's "uid" claim, so controllers can pass
+ * the id straight to services instead of looking the user up by email.
+ * getName() still returns the email, so principal.getName() keeps working.
+ */
+public record AuthenticatedUser(Long id, String email, String role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
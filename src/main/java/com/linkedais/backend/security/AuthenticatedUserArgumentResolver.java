@@ -0,0 +1,49 @@
+package com.linkedais.backend.security;
+
+import com.linkedais.backend.dto.UserIdentity;
+import com.linkedais.backend.service.UserIdentityCache;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Lets controller methods declare an {@link AuthenticatedUser} parameter.
+ *
+ * For JWT requests the principal is already an AuthenticatedUser. Any other
+ * authentication (e.g. @WithMockUser in tests) is resolved by name through
+ * the identity cache.
+ */
+@Component
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserIdentityCache userIdentityCache;
+
+    public AuthenticatedUserArgumentResolver(UserIdentityCache userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken || !auth.isAuthenticated()) {
+            return null;
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        UserIdentity identity = userIdentityCache.resolve(auth.getName());
+        return new AuthenticatedUser(identity.id(), identity.email(), identity.role());
+    }
+}
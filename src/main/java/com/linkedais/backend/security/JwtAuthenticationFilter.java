@@ -1,5 +1,7 @@
 package com.linkedais.backend.security;
 
+import com.linkedais.backend.service.UserIdentityCache;
+import io.jsonwebtoken.JwtException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -26,12 +28,21 @@ import java.util.Collections;
  */
 @Component  // Spring manages this as a bean
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+  private static final String STREAM_PATH = "/api/stream";
   
   private final JwtUtil jwtUtil;  // Helper to validate tokens
-  
+  private final UserIdentityCache userIdentityCache;  // Fallback for tokens issued before the uid claim
+  private final TokenAuthenticationCache tokenCache;  // Tokens we already verified
+  private final TokenRevocations tokenRevocations;  // Per-user token versions (logout, role change)
+
   // Constructor injection - Spring automatically provides JwtUtil
-  public JwtAuthenticationFilter(JwtUtil jwtUtil) { 
-    this.jwtUtil = jwtUtil; 
+  public JwtAuthenticationFilter(JwtUtil jwtUtil, UserIdentityCache userIdentityCache,
+                                 TokenAuthenticationCache tokenCache, TokenRevocations tokenRevocations) {
+    this.jwtUtil = jwtUtil;
+    this.userIdentityCache = userIdentityCache;
+    this.tokenCache = tokenCache;
+    this.tokenRevocations = tokenRevocations;
   }
 
   /**
@@ -48,7 +59,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     // Step 1: Get the "Authorization" header from the request
     // Example: "Authorization: Bearer eyJhbGci..."
     String header = req.getHeader("Authorization");
-    
+
+    // EventSource (SSE) cannot send headers, so the stream endpoint also accepts ?access_token=
+    if (header == null && STREAM_PATH.equals(req.getRequestURI())) {
+      String queryToken = req.getParameter("access_token");
+      if (queryToken != null) {
+        header = "Bearer " + queryToken;
+      }
+    }
+
     // Step 2: Check if header exists and starts with "Bearer "
     if (header != null && header.startsWith("Bearer ")) {
       
@@ -56,6 +75,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       // "Bearer eyJhbGci..." becomes "eyJhbGci..."
       String token = header.substring(7);
       
+      // Same token seen before: reuse its Authentication, no signature check or parsing
+      // (the cache still drops it if the token was revoked since)
+      var cached = tokenCache.get(token);
+      if (cached != null) {
+        SecurityContextHolder.getContext().setAuthentication(cached);
+        chain.doFilter(req, res);
+        return;
+      }
+
       try {
         // Step 4: Validate the token and extract information from it
         var claims = jwtUtil.validate(token).getPayload();  // This throws exception if invalid
@@ -73,27 +101,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             role = "ROLE_" + role;
         }
 
-        // Step 7: Create an authentication object for Spring Security
+        // Step 7: Get the user id ("uid" claim); older tokens without it are resolved once via the cache
+        Number uid = claims.get("uid", Number.class);
+        Long userId = uid != null ? uid.longValue() : userIdentityCache.resolve(subject).id();
+        var principal = new AuthenticatedUser(userId, subject, role);
+
+        // Step 8: Reject tokens issued before the user's last logout / role change ("ver" claim)
+        Number ver = claims.get("ver", Number.class);
+        int tokenVersion = ver != null ? ver.intValue() : 0;
+        if (tokenRevocations.isRevoked(userId, tokenVersion)) {
+          throw new JwtException("Token revoked");  // handled below like any invalid token
+        }
+
+        // Step 9: Create an authentication object for Spring Security
         var auth = new UsernamePasswordAuthenticationToken(
-            subject,  // User email
+            principal,  // User id + email, so services don't have to look the user up again
             null,     // No password needed (already authenticated via token)
             Collections.singletonList(new SimpleGrantedAuthority(role))  // User's role from token
         );
         
-        // Step 7: Store authentication in Spring Security's context
+        // Step 10: Store authentication in Spring Security's context
         // Now the entire application knows this user is authenticated
         SecurityContextHolder.getContext().setAuthentication(auth);
+        tokenCache.put(token, principal, auth, tokenVersion, claims.getExpiration());
 
       } catch (Exception e) {
 
-        // If token validation fails (expired, invalid signature, etc.)
+        // If token validation fails (expired, invalid signature, revoked, etc.)
         // We just ignore it and let the request continue as UNAUTHENTICATED
         // Protected endpoints will reject unauthenticated requests
       }
 
     }
     
-    // Step 8: Continue processing the request (move to next filter or endpoint)
+    // Step 11: Continue processing the request (move to next filter or endpoint)
     chain.doFilter(req, res);
   }
 }
@@ -5,42 +5,99 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * JWT (JSON Web Token) Utility Class
- * 
+ *
  * This class handles creating and validating JWT tokens for user authentication.
  * Think of JWT as a secure "ticket" that proves a user is logged in.
- * 
+ *
  * When a user logs in successfully, we give them a JWT token.
  * They send this token with every request to prove who they are.
+ *
+ * Keys and the parser are built once at startup and shared by all requests
+ * (both are immutable and thread-safe). For key rotation, every token carries
+ * a "kid" header naming the key that signed it:
+ * - jwt.secret / jwt.key-id is the current key, used for signing and verifying
+ * - jwt.retired-secrets ("kid=secret,kid=secret") are old keys that are still
+ *   accepted until the tokens they signed expire
  */
 @Component  // This tells Spring to create and manage this class automatically
 public class JwtUtil {
-    
-    // Read the secret key from application.properties file
-    // This secret is like a password used to sign/verify tokens
-    @Value("${jwt.secret}")
-    private String secret;
-    
-    // Read token expiration time from application.properties (in milliseconds)
+
     // After this time, the token becomes invalid and user must login again
-    @Value("${jwt.expiration-ms}")
-    private long expirationMs;
+    private final long expirationMs;
+
+    // Key id written into the "kid" header of new tokens
+    private final String currentKeyId;
+    private final SecretKey currentKey;
+
+    // All keys that may verify a token, by key id (current + retired)
+    private final Map<String, SecretKey> keyRing;
+
+    private final JwtParser parser;
 
     /**
-     * Convert our secret string into a cryptographic key
-     * This key is used to digitally "sign" the JWT so nobody can fake it
+     * @param secret - Current signing secret from application.properties
+     * @param expirationMs - Token lifetime in milliseconds
+     * @param keyId - Key id of the current secret
+     * @param retiredSecrets - Old secrets still accepted for verification, "kid=secret,kid=secret"
      */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration-ms}") long expirationMs,
+                   @Value("${jwt.key-id:primary}") String keyId,
+                   @Value("${jwt.retired-secrets:}") String retiredSecrets) {
+        this.expirationMs = expirationMs;
+        this.currentKeyId = keyId;
+        // Convert our secret string into a cryptographic key, once
+        this.currentKey = Keys.hmacShaKeyFor(secret.getBytes());
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String entry : retiredSecrets.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("jwt.retired-secrets entries must be kid=secret");
+            }
+            keys.put(parts[0], Keys.hmacShaKeyFor(parts[1].getBytes()));
+        }
+        keys.put(keyId, currentKey);
+        this.keyRing = Map.copyOf(keys);
+
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Pick the verification key for a token's "kid" header.
+     * Tokens issued before key ids were added have no kid and use the current key.
+     */
+    private Key keyFor(String keyId) {
+        if (keyId == null) {
+            return currentKey;
+        }
+        SecretKey key = keyRing.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
     }
 
     /**
      * Generate a new JWT token for a user
-     * 
+     *
      * @param subject - Usually the user's email (identifies who the token belongs to)
      * @param claims - Extra information to store in the token (like name, roles, etc.)
      * @return A string token that looks like: "eyJhbGci..." (3 parts separated by dots)
@@ -48,34 +105,32 @@ public class JwtUtil {
     public String generateToken(String subject, Map<String, Object> claims) {
         Date now = new Date();  // Current time
         Date expiryDate = new Date(now.getTime() + expirationMs);  // When token expires
-        
+
         // Build the JWT token with all the information
         return Jwts.builder()
+                .header().keyId(currentKeyId).and()  // Which key signed it (for rotation)
                 .claims(claims)              // Add custom data (name, email, etc.)
                 .subject(subject)            // Main identifier (user email)
                 .issuedAt(now)              // When the token was created
                 .expiration(expiryDate)     // When the token expires
-                .signWith(getSigningKey())  // Sign it with our secret key (proves it's authentic)
+                .signWith(currentKey)       // Sign it with our secret key (proves it's authentic)
                 .compact();                 // Convert to final string format
     }
-    
+
     /**
      * Validate and parse a JWT token
-     * 
+     *
      * This checks if:
      * 1. The token was actually created by us (signature is valid)
      * 2. The token hasn't expired
      * 3. The token hasn't been tampered with
-     * 
+     *
      * @param token - The JWT string to validate
      * @return Parsed token data (claims) if valid
      * @throws Exception if token is invalid, expired, or tampered with
      */
     public Jws<Claims> validate(String token){
-        return Jwts.parser()
-                .verifyWith(getSigningKey())  // Check signature matches our secret
-                .build()
-                .parseSignedClaims(token);    // Parse and verify the token
+        return parser.parseSignedClaims(token);  // Shared parser, key picked by "kid"
     }
-    
-}
\ No newline at end of file
+
+}
@@ -1,6 +1,7 @@
 package com.linkedais.backend.security;
 
 import com.linkedais.backend.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.*;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -62,6 +63,9 @@ public class SecurityConfig {
       
       // Configure which URLs need authentication
       .authorizeHttpRequests(auth -> auth
+        // Async re-dispatches of SSE/streamed responses were already authorized on the original request
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
         // These URLs are PUBLIC - anyone can access without login
         .requestMatchers("/api/auth/**").permitAll()
 
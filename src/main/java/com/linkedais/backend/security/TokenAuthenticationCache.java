@@ -0,0 +1,102 @@
+package com.linkedais.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.linkedais.backend.service.CacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Already-verified bearer tokens -> the Authentication built for them.
+ *
+ * The SPA sends the same token on every request; a hit skips the HMAC check
+ * and claim parsing in JwtAuthenticationFilter. Keys are SHA-256 hashes, so
+ * raw tokens are never held in memory. An entry lives until the token's exp,
+ * capped by security.token-cache.ttl-seconds, and the cache is bounded by
+ * security.token-cache.max-size. A hit is still checked against
+ * {@link TokenRevocations}, so a revoked token stops working even while cached.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private record Entry(Authentication authentication, Long userId, int tokenVersion, long expiresAtMillis) {}
+
+    private final TokenRevocations tokenRevocations;
+    private final Cache<String, Entry> cache;
+
+    public TokenAuthenticationCache(TokenRevocations tokenRevocations,
+                                    @Value("${security.token-cache.max-size:10000}") long maxSize,
+                                    @Value("${security.token-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.tokenRevocations = tokenRevocations;
+        long maxTtlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        long untilExp = Duration.ofMillis(entry.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExp, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the cached Authentication, or null if the token has not been verified yet,
+     *         expired or was revoked
+     */
+    public Authentication get(String token) {
+        String key = hash(token);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (tokenRevocations.isRevoked(entry.userId(), entry.tokenVersion())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    public void put(String token, AuthenticatedUser user, Authentication authentication,
+                    int tokenVersion, Date expiresAt) {
+        if (expiresAt == null) {
+            return; // never cache tokens without an expiry
+        }
+        cache.put(hash(token), new Entry(authentication, user.id(), tokenVersion, expiresAt.getTime()));
+    }
+
+    public Map<String, Object> stats() {
+        return CacheMetrics.snapshot(cache);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.linkedais.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedais.backend.repository.UserRepository;
+import com.linkedais.backend.service.CacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-user token versions, so issued JWTs can be revoked.
+ *
+ * Every token carries the user's token_version as its "ver" claim (tokens
+ * from before this claim count as version 0). revokeAll() bumps the stored
+ * version, which makes every older token of that user invalid: on logout
+ * and whenever the role inside the tokens may be out of date.
+ *
+ * JwtAuthenticationFilter checks the version on every request, for cached
+ * and freshly verified tokens alike. Current versions are cached per user;
+ * this instance sees its own revocations at once, other instances after
+ * security.token-versions.ttl-seconds.
+ */
+@Component
+public class TokenRevocations {
+
+    // Loaded for users that no longer exist: none of their tokens is valid
+    private static final int UNKNOWN_USER = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenRevocations(UserRepository userRepository,
+                            @Value("${security.token-versions.max-size:10000}") long maxSize,
+                            @Value("${security.token-versions.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public int currentVersion(Long userId) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        return tokenVersion < currentVersion(userId);
+    }
+
+    /**
+     * Invalidates every token issued to the user so far.
+     */
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        versions.invalidate(userId);
+    }
+
+    public Map<String, Object> stats() {
+        return CacheMetrics.snapshot(versions);
+    }
+}
@@ -2,7 +2,6 @@ package com.linkedais.backend.service;
 
 import com.linkedais.backend.model.Bookmark;
 import com.linkedais.backend.model.Post;
-import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.BookmarkRepository;
 import com.linkedais.backend.repository.PostRepository;
 import com.linkedais.backend.repository.UserRepository;
@@ -25,10 +24,8 @@ public class BookmarkService {
     private UserRepository userRepository;
 
     @Transactional
-    public void addBookmark(Long postId, String email) {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (bookmarkRepository.existsByPostIdAndUserId(postId, user.getId())) {
+    public void addBookmark(Long postId, Long userId) {
+        if (bookmarkRepository.existsByPostIdAndUserId(postId, userId)) {
             throw new RuntimeException("Post already bookmarked by this user");
         }
 
@@ -36,23 +33,18 @@ public class BookmarkService {
 
         Bookmark bookmark = new Bookmark();
         bookmark.setPost(post);
-        bookmark.setUser(user);
+        bookmark.setUser(userRepository.getReferenceById(userId));
         bookmarkRepository.save(bookmark);
     }
 
     @Transactional
-    public void removeBookmark(Long postId, String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        bookmarkRepository.deleteByPostIdAndUserId(postId, user.getId());
+    public void removeBookmark(Long postId, Long userId) {
+        bookmarkRepository.deleteByPostIdAndUserId(postId, userId);
     }
 
     @Transactional
-    public Page<Post> getUserBookmarks(String email, Pageable pageable) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Page<Bookmark> bookmarks = bookmarkRepository.findByUserId(user.getId(), pageable);
+    public Page<Post> getUserBookmarks(Long userId, Pageable pageable) {
+        Page<Bookmark> bookmarks = bookmarkRepository.findByUserId(userId, pageable);
         return bookmarks.map(Bookmark::getPost);
     }
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+package com.linkedais.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates production-sized data straight through JDBC.
+ *
+ * Rows are written as multi-row INSERT ... VALUES statements, several
+ * statements per JDBC batch, without going through JPA. Activity follows a
+ * Zipf distribution: a few users write most posts and messages, a few posts
+ * collect most likes and comments. Rank 1 is always the first seeded row,
+ * so {@link Result} tells callers which user/post is the heaviest.
+ *
+ * Pairs that must be unique (likes, connections, enrollments) are generated
+ * without lookups: the k-th pair of an owner is (owner, start + k * stride)
+ * modulo the table size, with a stride coprime to it.
+ *
+ * Users, posts and courses are inserted with explicit ids from MAX(id) + 1,
+ * because the other tables reference them by position. The identity columns
+ * are restarted after the highest seeded id afterwards, so rows the
+ * application inserts later do not collide. Do not seed while the
+ * application is writing to these tables.
+ *
+ * Used by BulkSeedRunner (profile "seed") and by the JMH benchmarks.
+ */
+public class BulkDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    public record Volumes(int users, int posts, int likes, int comments, int connections,
+                          int messages, int courses, int enrollments, double zipfExponent) {}
+
+    /**
+     * @param firstUserId the most active seeded user
+     * @param firstPostId the most liked/commented seeded post
+     */
+    public record Result(long firstUserId, long firstPostId, long rows, long elapsedMs) {}
+
+    private static final String[] STATUSES = {"ACCEPTED", "ACCEPTED", "ACCEPTED", "PENDING", "REJECTED"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String passwordHash;
+    private final int rowsPerStatement;
+    private final int statementsPerBatch;
+
+    /**
+     * @param passwordHash encoded password shared by all seeded users
+     * @param rowsPerStatement rows in one multi-row VALUES statement
+     * @param statementsPerBatch statements sent in one JDBC batch
+     */
+    public BulkDataSeeder(JdbcTemplate jdbcTemplate, String passwordHash,
+                          int rowsPerStatement, int statementsPerBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHash = passwordHash;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerBatch = statementsPerBatch;
+    }
+
+    public Result seed(Volumes v, long randomSeed) {
+        long started = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        long yearSeconds = 365L * 24 * 3600;
+
+        long u0 = nextId("users");
+        long p0 = nextId("posts");
+        long c0 = nextId("courses");
+        ZipfSampler users = new ZipfSampler(v.users(), v.zipfExponent());
+        ZipfSampler posts = new ZipfSampler(v.posts(), v.zipfExponent());
+        long rows = 0;
+
+        // Users
+        Inserter inserter = new Inserter("users", "id, email, password, name, role, created_at");
+        for (int i = 0; i < v.users(); i++) {
+            inserter.add(u0 + i, "seed" + (u0 + i) + "@linkedais.lt", passwordHash, "Vartotojas " + (u0 + i), "USER",
+                    at(start, yearSeconds * i / v.users()));
+        }
+        rows += inserter.finish();
+        restartIdentity("users");
+
+        // Courses
+        inserter = new Inserter("courses", "id, name, instructor, credits, code, semester, active");
+        for (int i = 0; i < v.courses(); i++) {
+            inserter.add(c0 + i, "Modulis " + (c0 + i), "Dėstytojas " + (i % 50), 3 + i % 4, "S" + (c0 + i),
+                    i % 2 == 0 ? "Rudens" : "Pavasario", true);
+        }
+        rows += inserter.finish();
+        restartIdentity("courses");
+
+        // Per-post like/comment counts are drawn first, so posts are inserted with correct counters
+        int[] likeCounts = new int[v.posts()];
+        int maxLikesPerPost = v.users();
+        for (int i = 0; i < v.likes(); i++) {
+            int post = posts.sample(random) - 1;
+            if (likeCounts[post] < maxLikesPerPost) {
+                likeCounts[post]++;
+            }
+        }
+        int[] commentPosts = new int[v.comments()];
+        int[] commentCounts = new int[v.posts()];
+        for (int i = 0; i < v.comments(); i++) {
+            commentPosts[i] = posts.sample(random) - 1;
+            commentCounts[commentPosts[i]]++;
+        }
+
+        // Posts (created in id order, author ~ Zipf)
+        inserter = new Inserter("posts", "id, content, user_id, created_at, like_count, comment_count");
+        for (int i = 0; i < v.posts(); i++) {
+            inserter.add(p0 + i, "Įrašas nr. " + (p0 + i), u0 + users.sample(random) - 1,
+                    at(start, yearSeconds * i / v.posts()), likeCounts[i], commentCounts[i]);
+        }
+        rows += inserter.finish();
+        restartIdentity("posts");
+
+        // Likes: distinct users per post
+        long userStride = coprimeStride(v.users());
+        inserter = new Inserter("likes", "post_id, user_id");
+        for (int p = 0; p < v.posts(); p++) {
+            long first = random.nextInt(v.users());
+            for (int k = 0; k < likeCounts[p]; k++) {
+                inserter.add(p0 + p, u0 + (first + k * userStride) % v.users());
+            }
+        }
+        rows += inserter.finish();
+
+        // Comments (post ~ Zipf, author ~ Zipf); newest posts get newest comments
+        Arrays.sort(commentPosts);
+        inserter = new Inserter("comments", "post_id, author_id, content, created_at");
+        for (int i = 0; i < v.comments(); i++) {
+            int post = commentPosts[i];
+            long offset = yearSeconds * post / v.posts() + random.nextInt(3600);
+            inserter.add(p0 + post, u0 + users.sample(random) - 1, "Komentaras " + i, at(start, offset));
+        }
+        rows += inserter.finish();
+
+        // Connections: sender ~ Zipf, k-th receiver of a sender is sender + 1 + k.
+        // Keeping k below users / 2 means (a, b) and (b, a) are never both generated.
+        int[] sent = new int[v.users()];
+        int maxPerSender = Math.max(0, (v.users() - 1) / 2);
+        inserter = new Inserter("connections", "user_id, receiver_id, user_low_id, user_high_id, status, created_at");
+        for (int i = 0; i < v.connections(); i++) {
+            int sender = users.sample(random) - 1;
+            if (sent[sender] >= maxPerSender) {
+                continue;
+            }
+            long receiver = (sender + 1L + sent[sender]++) % v.users();
+            inserter.add(u0 + sender, u0 + receiver, u0 + Math.min(sender, receiver), u0 + Math.max(sender, receiver),
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    at(start, yearSeconds * i / v.connections()));
+        }
+        rows += inserter.finish();
+
+        // Messages: sender ~ Zipf, receiver uniform
+        inserter = new Inserter("messages", "sender_id, receiver_id, content, created_at, deleted");
+        for (int i = 0; i < v.messages(); i++) {
+            int sender = users.sample(random) - 1;
+            int receiver = random.nextInt(v.users());
+            if (receiver == sender) {
+                receiver = (sender + 1) % v.users();
+            }
+            inserter.add(u0 + sender, u0 + receiver, "Žinutė " + i,
+                    at(start, yearSeconds * i / v.messages()), false);
+        }
+        rows += inserter.finish();
+
+        // Enrollments: distinct courses per student; mirrored into user_courses,
+        // graded ones into user_completed_courses (degree progress reads those)
+        long courseStride = coprimeStride(v.courses());
+        int perStudent = Math.min(v.courses(), Math.max(1, v.enrollments() / v.users()));
+        Inserter enrollments = new Inserter("enrollments", "student_id, course_id, grade, enrolled_at");
+        Inserter userCourses = new Inserter("user_courses", "user_id, course_id");
+        Inserter completed = new Inserter("user_completed_courses", "user_id, course_id");
+        int written = 0;
+        for (int s = 0; s < v.users() && written < v.enrollments(); s++) {
+            long first = random.nextInt(v.courses());
+            for (int k = 0; k < perStudent && written < v.enrollments(); k++, written++) {
+                long course = c0 + (first + k * courseStride) % v.courses();
+                boolean graded = random.nextInt(3) > 0;
+                enrollments.add(u0 + s, course, graded ? (double) (5 + random.nextInt(6)) : null,
+                        at(start, yearSeconds * s / v.users()));
+                userCourses.add(u0 + s, course);
+                if (graded) {
+                    completed.add(u0 + s, course);
+                }
+            }
+        }
+        rows += enrollments.finish() + userCourses.finish() + completed.finish();
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Seeded {} rows in {} ms", rows, elapsed);
+        return new Result(u0, p0, rows, elapsed);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max + 1;
+    }
+
+    // Next generated id goes after the explicitly inserted ones (ALTER ... RESTART works on PostgreSQL and H2)
+    private void restartIdentity(String table) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+    }
+
+    private static Timestamp at(LocalDateTime start, long plusSeconds) {
+        return Timestamp.valueOf(start.plusSeconds(plusSeconds));
+    }
+
+    // Smallest stride > n / 2 that shares no factor with n, so k * stride mod n visits every slot once
+    private static long coprimeStride(int n) {
+        long stride = n / 2 + 1;
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Buffers rows into "INSERT INTO t (cols) VALUES (?,..),(?,..),..." statements
+     * and sends them in JDBC batches. Only full statements are batched; the
+     * remainder goes out as one shorter statement in {@link #finish()}.
+     */
+    private final class Inserter {
+        private final String table;
+        private final String columns;
+        private final int columnCount;
+        private final String fullStatement;
+        private final List<Object[]> batch = new ArrayList<>();
+        private Object[] pending;
+        private int pendingRows;
+        private long total;
+
+        Inserter(String table, String columns) {
+            this.table = table;
+            this.columns = columns;
+            this.columnCount = columns.split(",").length;
+            this.fullStatement = statement(rowsPerStatement);
+            this.pending = new Object[rowsPerStatement * columnCount];
+        }
+
+        void add(Object... values) {
+            System.arraycopy(values, 0, pending, pendingRows * columnCount, columnCount);
+            pendingRows++;
+            if (pendingRows == rowsPerStatement) {
+                batch.add(pending);
+                pending = new Object[rowsPerStatement * columnCount];
+                pendingRows = 0;
+                if (batch.size() == statementsPerBatch) {
+                    flushBatch();
+                }
+            }
+        }
+
+        long finish() {
+            flushBatch();
+            if (pendingRows > 0) {
+                jdbcTemplate.update(statement(pendingRows), Arrays.copyOf(pending, pendingRows * columnCount));
+                total += pendingRows;
+                pendingRows = 0;
+            }
+            log.info("Seeded {} rows into {}", total, table);
+            return total;
+        }
+
+        private void flushBatch() {
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(fullStatement, batch);
+                total += (long) batch.size() * rowsPerStatement;
+                batch.clear();
+            }
+        }
+
+        private String statement(int rows) {
+            String row = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+            return "INSERT INTO " + table + " (" + columns + ") VALUES "
+                    + String.join(", ", Collections.nCopies(rows, row));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.linkedais.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with synthetic load-test data on startup.
+ * Only active with the "seed" profile (--spring.profiles.active=seed);
+ * volumes are the seed.* properties. Skipped if posts already exist.
+ */
+@Component
+@Profile("seed")
+@Order(100) // after DataInitializer
+public class BulkSeedRunner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${seed.users:100000}") private int users;
+    @Value("${seed.posts:1000000}") private int posts;
+    @Value("${seed.likes:5000000}") private int likes;
+    @Value("${seed.comments:2000000}") private int comments;
+    @Value("${seed.connections:500000}") private int connections;
+    @Value("${seed.messages:1000000}") private int messages;
+    @Value("${seed.courses:300}") private int courses;
+    @Value("${seed.enrollments:400000}") private int enrollments;
+    @Value("${seed.zipf-exponent:1.1}") private double zipfExponent;
+    @Value("${seed.random-seed:42}") private long randomSeed;
+    @Value("${seed.rows-per-statement:500}") private int rowsPerStatement;
+    @Value("${seed.statements-per-batch:20}") private int statementsPerBatch;
+
+    public BulkSeedRunner(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existingPosts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+        if (existingPosts != null && existingPosts > 0) {
+            System.out.println("Seed praleistas: duomenų bazėje jau yra įrašų (" + existingPosts + ")");
+            return;
+        }
+
+        // Visi sugeneruoti vartotojai turi slaptažodį "password"
+        BulkDataSeeder seeder = new BulkDataSeeder(jdbcTemplate, passwordEncoder.encode("password"),
+                rowsPerStatement, statementsPerBatch);
+        BulkDataSeeder.Result result = seeder.seed(new BulkDataSeeder.Volumes(users, posts, likes, comments,
+                connections, messages, courses, enrollments, zipfExponent), randomSeed);
+
+        System.out.println("========================================================");
+        System.out.println("Sugeneruota eilučių: " + result.rows() + " per " + result.elapsedMs() + " ms");
+        System.out.println("Aktyviausias vartotojas: seed" + result.firstUserId() + "@linkedais.lt");
+        System.out.println("========================================================");
+    }
+}
@@ -4,12 +4,14 @@ import com.linkedais.backend.dto.CommentResponse;
 import com.linkedais.backend.dto.CreateCommentRequest;
 import com.linkedais.backend.dto.UpdateCommentRequest;
 import com.linkedais.backend.model.Comment;
+import com.linkedais.backend.model.OutboxEvent;
 import com.linkedais.backend.model.Post;
 import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.CommentRepository;
 import com.linkedais.backend.repository.PostRepository;
 import com.linkedais.backend.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,14 +22,14 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
 
     public CommentService(CommentRepository commentRepository, PostRepository postRepository,
-                          UserRepository userRepository, NotificationService notificationService) {
+                          UserRepository userRepository, NotificationOutbox notificationOutbox) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
-        this.notificationService = notificationService;
+        this.notificationOutbox = notificationOutbox;
     }
 
     public List<CommentResponse> getCommentsByPostId(Long postId) {
@@ -39,6 +41,7 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public CommentResponse createComment(Long postId, CreateCommentRequest request, String email) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
@@ -52,9 +55,10 @@ public class CommentService {
         comment.setContent(request.getContent());
 
         Comment saved = commentRepository.save(comment);
+        postRepository.adjustCommentCount(postId, 1);
 
-        // Create notifications
-        notificationService.createCommentNotifications(post, saved, author);
+        // Notifications are created after commit by NotificationDispatcher
+        notificationOutbox.enqueue(OutboxEvent.COMMENT_CREATED, saved.getId());
 
         return toResponse(saved);
     }
@@ -77,6 +81,7 @@ public class CommentService {
         return toResponse(updated);
     }
 
+    @Transactional
     public void deleteComment(Long postId, Long commentId, String email) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
@@ -90,6 +95,7 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        postRepository.adjustCommentCount(postId, -1);
     }
 
     private CommentResponse toResponse(Comment comment) {
@@ -0,0 +1,122 @@
+package com.linkedais.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedais.backend.dto.ConnectionEdge;
+import com.linkedais.backend.repository.ConnectionRepository;
+import enums.ConnectionStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user adjacency of the connection graph, so status checks and network
+ * lists are memory lookups instead of queries.
+ *
+ * A user's edges are loaded on first use with one projection query (no User
+ * entities) and kept as sorted long arrays, searched with binary search.
+ * ConnectionService publishes {@link Changed} whenever a connection is
+ * created or changes status; both users' entries are dropped after commit
+ * and reloaded on next use. The cache is size-bounded (Caffeine evicts the
+ * least recently/frequently used users) and entries also expire after
+ * connections.graph-cache.ttl-seconds to pick up changes made outside the app.
+ */
+@Component
+public class ConnectionGraphCache {
+
+    /** The connection between these two users was created or changed to this status. */
+    public record Changed(Long senderId, Long receiverId, ConnectionStatus status) {}
+
+    /**
+     * One direction of a user's edges, sorted by peer id. The arrays are
+     * parallel: connectionIds[i] and statuses[i] belong to peers[i].
+     */
+    public record Edges(long[] peers, long[] connectionIds, ConnectionStatus[] statuses) {
+
+        static Edges of(List<ConnectionEdge> edges, ToLongFunction<ConnectionEdge> peer) {
+            // By peer, then id, so the newest connection of a duplicated pair wins
+            ConnectionEdge[] sorted = edges.stream()
+                    .sorted(Comparator.comparingLong(peer).thenComparingLong(ConnectionEdge::id))
+                    .toArray(ConnectionEdge[]::new);
+            long[] peers = new long[sorted.length];
+            long[] ids = new long[sorted.length];
+            ConnectionStatus[] statuses = new ConnectionStatus[sorted.length];
+            int n = 0;
+            for (ConnectionEdge edge : sorted) {
+                long p = peer.applyAsLong(edge);
+                if (n > 0 && peers[n - 1] == p) {
+                    n--;
+                }
+                peers[n] = p;
+                ids[n] = edge.id();
+                statuses[n] = edge.status();
+                n++;
+            }
+            return new Edges(Arrays.copyOf(peers, n), Arrays.copyOf(ids, n), Arrays.copyOf(statuses, n));
+        }
+
+        /**
+         * @return index of the peer, or a negative number if there is no edge to it
+         */
+        public int indexOf(long peer) {
+            return Arrays.binarySearch(peers, peer);
+        }
+
+        public ConnectionStatus statusOf(long peer) {
+            int i = indexOf(peer);
+            return i >= 0 ? statuses[i] : null;
+        }
+
+        public int size() {
+            return peers.length;
+        }
+    }
+
+    /** Edges of one user: requests they sent and requests they received. */
+    public record Adjacency(Edges sent, Edges received) {}
+
+    private final ConnectionRepository connectionRepository;
+    private final Cache<Long, Adjacency> cache;
+
+    public ConnectionGraphCache(ConnectionRepository connectionRepository,
+                                @Value("${connections.graph-cache.max-size:50000}") long maxSize,
+                                @Value("${connections.graph-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.connectionRepository = connectionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Adjacency get(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    private Adjacency load(Long userId) {
+        List<ConnectionEdge> edges = connectionRepository.findEdgesOf(userId);
+        Map<Boolean, List<ConnectionEdge>> bySide = edges.stream()
+                .collect(Collectors.partitioningBy(e -> e.senderId().equals(userId)));
+        return new Adjacency(
+                Edges.of(bySide.get(true), ConnectionEdge::receiverId),
+                Edges.of(bySide.get(false), ConnectionEdge::senderId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(Changed change) {
+        cache.invalidate(change.senderId());
+        cache.invalidate(change.receiverId());
+    }
+
+    public Map<String, Object> stats() {
+        return CacheMetrics.snapshot(cache);
+    }
+}
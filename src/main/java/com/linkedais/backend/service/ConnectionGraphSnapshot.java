@@ -0,0 +1,335 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.ConnectionEdge;
+import com.linkedais.backend.repository.ConnectionRepository;
+import enums.ConnectionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Whole-graph view of accepted connections for second-degree queries
+ * (mutual connections, suggestions).
+ *
+ * The graph is held in CSR (compressed sparse row) form: the sorted ids of
+ * all connected users, an offsets array, and one long[] with every user's
+ * neighbours back to back, each row sorted. A million edges take about
+ * 16 MB and a row is found with one binary search, without per-node objects.
+ *
+ * The CSR itself is immutable. Accepted/removed edges committed after it
+ * was built are kept in a small overlay (from ConnectionGraphCache.Changed)
+ * and merged into the rows they touch at read time. A scheduled fold writes
+ * the overlay into a new CSR: only the touched rows are merged, the others
+ * are copied as they are, and the database is not read.
+ *
+ * A full rebuild from the connections table (at startup, then every
+ * connections.snapshot.max-age-ms for rows written outside the app) runs on
+ * its own thread, so the shared scheduling thread never streams the edges.
+ */
+@Component
+public class ConnectionGraphSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionGraphSnapshot.class);
+
+    private static final long[] NONE = new long[0];
+
+    /** Immutable CSR of accepted edges; row i = neighbors[offsets[i] .. offsets[i + 1]). */
+    private record Csr(long[] userIds, int[] offsets, long[] neighbors) {
+
+        static final Csr EMPTY = new Csr(NONE, new int[]{0}, NONE);
+
+        long[] row(long userId) {
+            int i = Arrays.binarySearch(userIds, userId);
+            return i < 0 ? NONE : Arrays.copyOfRange(neighbors, offsets[i], offsets[i + 1]);
+        }
+    }
+
+    // Overlay: user -> peer -> edge is accepted (true) or gone (false); newer wins
+    private static Map<Long, Map<Long, Boolean>> newOverlay() {
+        return new ConcurrentHashMap<>();
+    }
+
+    private final ConnectionRepository connectionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Readers take pending, then folding, then csr; fold() and rebuild() publish in the opposite order
+    private volatile Csr csr = Csr.EMPTY;
+    private volatile Map<Long, Map<Long, Boolean>> pending = newOverlay();
+    private volatile Map<Long, Map<Long, Boolean>> folding = newOverlay();
+    private volatile long builtAt;
+
+    private final long maxAgeMs;
+    // Held by fold() and rebuild(); a fold is skipped while a rebuild runs
+    private final ReentrantLock publishLock = new ReentrantLock();
+    // Changes are added under the read lock, pending is swapped out under the write lock,
+    // so no change lands in an overlay that is already being folded
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // No queue: a refresh while a rebuild is running is dropped
+    private final ThreadPoolExecutor rebuilder = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "graph-snapshot-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public ConnectionGraphSnapshot(ConnectionRepository connectionRepository, TransactionTemplate transactionTemplate,
+                                   @Value("${connections.snapshot.max-age-ms:3600000}") long maxAgeMs) {
+        this.connectionRepository = connectionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * Accepted connections of a user, sorted by id.
+     */
+    public long[] neighbors(long userId) {
+        Map<Long, Boolean> newer = pending.get(userId);
+        Map<Long, Boolean> older = folding.get(userId);
+        long[] row = csr.row(userId);
+        if (newer == null && older == null) {
+            return row;
+        }
+        Map<Long, Boolean> changes = new HashMap<>();
+        if (older != null) {
+            changes.putAll(older);
+        }
+        if (newer != null) {
+            changes.putAll(newer);
+        }
+        return apply(row, 0, row.length, changes);
+    }
+
+    /**
+     * The sorted row neighbors[from .. to) with the overlay changes of its user applied, sorted.
+     */
+    private static long[] apply(long[] neighbors, int from, int to, Map<Long, Boolean> changes) {
+        long[] merged = new long[to - from + changes.size()];
+        int n = 0;
+        for (int k = from; k < to; k++) {
+            if (!Boolean.FALSE.equals(changes.get(neighbors[k]))) {
+                merged[n++] = neighbors[k];
+            }
+        }
+        for (Map.Entry<Long, Boolean> change : changes.entrySet()) {
+            if (change.getValue() && Arrays.binarySearch(neighbors, from, to, change.getKey()) < 0) {
+                merged[n++] = change.getKey();
+            }
+        }
+        long[] result = Arrays.copyOf(merged, n);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(ConnectionGraphCache.Changed change) {
+        boolean accepted = change.status() == ConnectionStatus.ACCEPTED;
+        swapLock.readLock().lock();
+        try {
+            Map<Long, Map<Long, Boolean>> overlay = pending;
+            overlay.computeIfAbsent(change.senderId(), id -> new ConcurrentHashMap<>()).put(change.receiverId(), accepted);
+            overlay.computeIfAbsent(change.receiverId(), id -> new ConcurrentHashMap<>()).put(change.senderId(), accepted);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Moves pending to folding; the caller holds publishLock
+    private void swapOverlay() {
+        swapLock.writeLock().lock();
+        try {
+            folding = pending;
+            pending = newOverlay();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a full rebuild in the background when there is no snapshot yet or
+     * it is older than connections.snapshot.max-age-ms (picks up rows written
+     * outside the app, e.g. by the seeder); otherwise folds the overlay.
+     */
+    @Scheduled(initialDelayString = "${connections.snapshot.initial-delay-ms:0}",
+               fixedDelayString = "${connections.snapshot.fold-interval-ms:60000}")
+    public void refresh() {
+        if (builtAt == 0 || System.currentTimeMillis() - builtAt > maxAgeMs) {
+            rebuilder.execute(this::rebuild); // dropped while a rebuild is already queued
+        } else {
+            fold();
+        }
+    }
+
+    /**
+     * Writes the overlay into a new CSR without reading the database. Costs
+     * one copy of the arrays plus a merge of each touched row.
+     */
+    public void fold() {
+        if (pending.isEmpty() || !publishLock.tryLock()) {
+            return;
+        }
+        try {
+            swapOverlay();
+            csr = fold(csr, folding);
+            folding = newOverlay();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Builds a new CSR from the connections table. Changes arriving during the
+     * rebuild go to a fresh overlay; the overlay holds absolute edge states, so
+     * applying one that the new CSR already contains is harmless.
+     */
+    public void rebuild() {
+        publishLock.lock();
+        try {
+            swapOverlay();
+
+            long started = System.currentTimeMillis();
+            csr = transactionTemplate.execute(status -> {
+                try (Stream<ConnectionEdge> edges = connectionRepository.streamEdgesByStatus(ConnectionStatus.ACCEPTED)) {
+                    return build(edges);
+                }
+            });
+            folding = newOverlay();
+            builtAt = System.currentTimeMillis();
+            log.info("Connection graph snapshot: {} users, {} edges in {} ms",
+                    csr.userIds().length, csr.neighbors().length / 2, System.currentTimeMillis() - started);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // Walks the users of the CSR and of the overlay in id order; users left without edges are dropped
+    private static Csr fold(Csr base, Map<Long, Map<Long, Boolean>> overlay) {
+        long[] touched = overlay.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int added = overlay.values().stream().mapToInt(Map::size).sum();
+        long[] baseIds = base.userIds();
+        long[] userIds = new long[baseIds.length + touched.length];
+        int[] offsets = new int[userIds.length + 1];
+        long[] neighbors = new long[base.neighbors().length + added];
+        int users = 0;
+        int write = 0;
+        for (int i = 0, t = 0; i < baseIds.length || t < touched.length; ) {
+            boolean fromBase = i < baseIds.length && (t == touched.length || baseIds[i] <= touched[t]);
+            boolean fromOverlay = t < touched.length && (i == baseIds.length || touched[t] <= baseIds[i]);
+            long user = fromBase ? baseIds[i] : touched[t];
+            int from = fromBase ? base.offsets()[i] : 0;
+            int to = fromBase ? base.offsets()[i + 1] : 0;
+            int length;
+            if (fromOverlay) {
+                long[] row = apply(base.neighbors(), from, to, overlay.get(user));
+                System.arraycopy(row, 0, neighbors, write, row.length);
+                length = row.length;
+                t++;
+            } else {
+                System.arraycopy(base.neighbors(), from, neighbors, write, to - from);
+                length = to - from;
+            }
+            if (fromBase) {
+                i++;
+            }
+            if (length > 0) {
+                userIds[users] = user;
+                offsets[users++] = write;
+                write += length;
+            }
+        }
+        offsets[users] = write;
+        return new Csr(Arrays.copyOf(userIds, users), Arrays.copyOf(offsets, users + 1), Arrays.copyOf(neighbors, write));
+    }
+
+    private static Csr build(Stream<ConnectionEdge> edges) {
+        LongList from = new LongList();
+        LongList to = new LongList();
+        edges.forEach(edge -> {
+            from.add(edge.senderId());
+            to.add(edge.receiverId());
+        });
+        int edgeCount = from.size;
+
+        // Distinct users
+        long[] all = new long[edgeCount * 2];
+        System.arraycopy(from.values, 0, all, 0, edgeCount);
+        System.arraycopy(to.values, 0, all, edgeCount, edgeCount);
+        Arrays.sort(all);
+        int users = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[users++] = all[i];
+            }
+        }
+        long[] userIds = Arrays.copyOf(all, users);
+
+        // Row sizes -> offsets; edges are undirected, so each appears in both rows
+        int[] offsets = new int[users + 1];
+        int[] fromIndex = new int[edgeCount];
+        int[] toIndex = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            fromIndex[e] = Arrays.binarySearch(userIds, from.values[e]);
+            toIndex[e] = Arrays.binarySearch(userIds, to.values[e]);
+            offsets[fromIndex[e] + 1]++;
+            offsets[toIndex[e] + 1]++;
+        }
+        for (int i = 0; i < users; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        long[] neighbors = new long[edgeCount * 2];
+        int[] fill = Arrays.copyOf(offsets, users);
+        for (int e = 0; e < edgeCount; e++) {
+            neighbors[fill[fromIndex[e]]++] = to.values[e];
+            neighbors[fill[toIndex[e]]++] = from.values[e];
+        }
+        // Sort each row and drop duplicates (a pair accepted in both directions)
+        int write = 0;
+        for (int i = 0, start = 0; i < users; i++) {
+            int end = offsets[i + 1];
+            Arrays.sort(neighbors, start, end);
+            offsets[i] = write;
+            for (int k = start; k < end; k++) {
+                if (k == start || neighbors[k] != neighbors[k - 1]) {
+                    neighbors[write++] = neighbors[k];
+                }
+            }
+            start = end;
+        }
+        offsets[users] = write;
+        return new Csr(userIds, offsets, write == neighbors.length ? neighbors : Arrays.copyOf(neighbors, write));
+    }
+
+    /** Growable long[] so loading a million edges does not box them. */
+    private static final class LongList {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -1,18 +1,26 @@
 package com.linkedais.backend.service;
 
+import com.linkedais.backend.dto.ConnectionEdge;
 import com.linkedais.backend.dto.ConnectionResponse;
+import com.linkedais.backend.dto.UserIdentity;
 import com.linkedais.backend.model.Connection;
-import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.model.OutboxEvent;
 import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.ConnectionRepository;
-import com.linkedais.backend.repository.NotificationRepository;
 import com.linkedais.backend.repository.UserRepository;
 import enums.ConnectionStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,130 +32,145 @@ public class ConnectionService {
     private UserRepository userRepository;
 
     @Autowired
-    private NotificationRepository notificationRepository;
+    private NotificationOutbox notificationOutbox;
 
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @Autowired
+    private ConnectionGraphCache connectionGraphCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
     public void sendRequest(String senderEmail, Long receiverId) {
-        User sender = userRepository.findByEmail(senderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        UserIdentity sender = userIdentityCache.resolve(senderEmail);
         User receiver = userRepository.findById(receiverId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Optional<Connection> existing = connectionRepository.findBySenderIdAndReceiverId(sender.getId(), receiverId);
+        // One row per pair, whichever of the two sent it
+        Optional<Connection> existing = connectionRepository.findPair(
+                Math.min(sender.id(), receiverId), Math.max(sender.id(), receiverId));
 
         if (existing.isPresent()) {
             ConnectionStatus status = existing.get().getStatus();
             if (status == ConnectionStatus.PENDING || status == ConnectionStatus.ACCEPTED) {
                 throw new RuntimeException("Request already sent");
             }
-            // If rejected - delete old and create new
+            // If rejected - replaced by a new row, so the new request gets its own id:
+            // its outbox event and notifications never point at the rejected one
             connectionRepository.delete(existing.get());
+            connectionRepository.flush();
         }
-
         Connection connection = new Connection();
-        connection.setSender(sender);
+        connection.setSender(userRepository.getReferenceById(sender.id()));
         connection.setReceiver(receiver);
         connection.setStatus(ConnectionStatus.PENDING);
-        connectionRepository.save(connection);
+        try {
+            // Flush now so a concurrent request for the same pair fails on uk_connections_pair here
+            connectionRepository.saveAndFlush(connection);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Request already sent");
+        }
+        eventPublisher.publishEvent(new ConnectionGraphCache.Changed(sender.id(), receiverId, ConnectionStatus.PENDING));
 
-        Notification notification = new Notification();
-        notification.setUser(receiver);
-        notification.setType("CONNECTION_REQUEST");
-        notification.setMessage(sender.getName() + " nori prisijungti prie jūsų tinklo");
-        notification.setConnectionId(connection.getId());
-        notificationRepository.save(notification);
+        notificationOutbox.enqueue(OutboxEvent.CONNECTION_REQUEST, connection.getId());
     }
 
+    @Transactional
     public void acceptRequest(Long connectionId, String email) {
         Connection connection = connectionRepository.findById(connectionId)
                 .orElseThrow(() -> new RuntimeException("Connection not found"));
         connection.setStatus(ConnectionStatus.ACCEPTED);
         connectionRepository.save(connection);
+        eventPublisher.publishEvent(new ConnectionGraphCache.Changed(connection.getSender().getId(),
+                connection.getReceiver().getId(), connection.getStatus()));
 
-        // Notify sender
-        Notification notification = new Notification();
-        notification.setUser(connection.getSender());
-        notification.setType("CONNECTION_ACCEPTED");
-        notification.setMessage(connection.getReceiver().getName() + " priėmė jūsų prisijungimo užklausą");
-        notificationRepository.save(notification);
+        // Notify sender (after commit, see NotificationDispatcher)
+        notificationOutbox.enqueue(OutboxEvent.CONNECTION_ACCEPTED, connection.getId());
     }
 
+    @Transactional
     public void rejectRequest(Long connectionId, String email) {
         Connection connection = connectionRepository.findById(connectionId)
                 .orElseThrow(() -> new RuntimeException("Connection not found"));
         connection.setStatus(ConnectionStatus.REJECTED);
         connectionRepository.save(connection);
+        eventPublisher.publishEvent(new ConnectionGraphCache.Changed(connection.getSender().getId(),
+                connection.getReceiver().getId(), connection.getStatus()));
 
-        // Notify sender
-        Notification notification = new Notification();
-        notification.setUser(connection.getSender());
-        notification.setType("CONNECTION_REJECTED");
-        notification.setMessage(connection.getReceiver().getName() + " atmetė jūsų prisijungimo užklausą");
-        notificationRepository.save(notification);
+        // Notify sender (after commit, see NotificationDispatcher)
+        notificationOutbox.enqueue(OutboxEvent.CONNECTION_REJECTED, connection.getId());
     }
 
-    public String getConnectionStatus(String senderEmail, Long receiverId) {
-        User sender = userRepository.findByEmail(senderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Served from the in-memory adjacency of the current user, no queries
+    public String getConnectionStatus(Long senderId, Long receiverId) {
+        ConnectionGraphCache.Adjacency adjacency = connectionGraphCache.get(senderId);
 
         // Check if current user sent a request
-        Optional<Connection> sent = connectionRepository.findBySenderIdAndReceiverId(sender.getId(), receiverId);
-        if (sent.isPresent()) {
-            return sent.get().getStatus().toString();
+        ConnectionStatus sent = adjacency.sent().statusOf(receiverId);
+        if (sent != null) {
+            return sent.toString();
         }
 
         // Check if current user received a request
-        Optional<Connection> received = connectionRepository.findBySenderIdAndReceiverId(receiverId, sender.getId());
-        if (received.isPresent()) {
-            return received.get().getStatus().toString();
+        ConnectionStatus received = adjacency.received().statusOf(receiverId);
+        if (received != null) {
+            return received.toString();
         }
 
         return "NONE";
     }
 
-    public List<ConnectionResponse> getAcceptedConnections(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public List<ConnectionResponse> getAcceptedConnections(Long userId) {
+        ConnectionGraphCache.Adjacency adjacency = connectionGraphCache.get(userId);
 
-        List<Connection> asSender = connectionRepository
-                .findBySenderIdAndStatus(user.getId(), ConnectionStatus.ACCEPTED);
-        List<Connection> asReceiver = connectionRepository
-                .findByReceiverIdAndStatus(user.getId(), ConnectionStatus.ACCEPTED);
-
-        List<ConnectionResponse> result = new java.util.ArrayList<>();
-
-        asSender.forEach(c -> result.add(new ConnectionResponse(
-                c.getId(),
-                c.getSender().getId(),
-                c.getSender().getName(),
-                c.getReceiver().getId(),
-                c.getReceiver().getName(),
-                c.getStatus().toString()
-        )));
-
-        asReceiver.forEach(c -> result.add(new ConnectionResponse(
-                c.getId(),
-                c.getSender().getId(),
-                c.getSender().getName(),
-                c.getReceiver().getId(),
-                c.getReceiver().getName(),
-                c.getStatus().toString()
-        )));
-
-        return result;
+        List<ConnectionEdge> edges = new ArrayList<>();
+        collect(edges, userId, adjacency.sent(), ConnectionStatus.ACCEPTED, true);
+        collect(edges, userId, adjacency.received(), ConnectionStatus.ACCEPTED, false);
+        return toResponses(edges);
     }
 
-    public List<ConnectionResponse> getPendingRequests(String email) {
-        User receiver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return connectionRepository.findByReceiverIdAndStatus(receiver.getId(), ConnectionStatus.PENDING)
-                .stream()
-                .map(c -> new ConnectionResponse(
-                        c.getId(),
-                        c.getSender().getId(),
-                        c.getSender().getName(),
-                        c.getReceiver().getId(),
-                        c.getReceiver().getName(),
-                        c.getStatus().toString()
+    public List<ConnectionResponse> getPendingRequests(Long receiverId) {
+        List<ConnectionEdge> edges = new ArrayList<>();
+        collect(edges, receiverId, connectionGraphCache.get(receiverId).received(), ConnectionStatus.PENDING, false);
+        return toResponses(edges);
+    }
+
+    private static void collect(List<ConnectionEdge> into, Long userId, ConnectionGraphCache.Edges edges,
+                                ConnectionStatus status, boolean sentByUser) {
+        for (int i = 0; i < edges.size(); i++) {
+            if (edges.statuses()[i] == status) {
+                Long peer = edges.peers()[i];
+                into.add(sentByUser
+                        ? new ConnectionEdge(edges.connectionIds()[i], userId, peer, status)
+                        : new ConnectionEdge(edges.connectionIds()[i], peer, userId, status));
+            }
+        }
+    }
+
+    // Names of both ends with one id/name projection query (no User entities)
+    private List<ConnectionResponse> toResponses(List<ConnectionEdge> edges) {
+        if (edges.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> userIds = new HashSet<>();
+        edges.forEach(e -> {
+            userIds.add(e.senderId());
+            userIds.add(e.receiverId());
+        });
+        Map<Long, String> names = userRepository.findIdentitiesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserIdentity::id, UserIdentity::name));
+
+        return edges.stream()
+                .map(e -> new ConnectionResponse(
+                        e.id(),
+                        e.senderId(),
+                        names.get(e.senderId()),
+                        e.receiverId(),
+                        names.get(e.receiverId()),
+                        e.status().toString()
                 ))
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,155 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.ConnectionSuggestion;
+import com.linkedais.backend.dto.SharedCourseCount;
+import com.linkedais.backend.dto.UserSearchResponse;
+import com.linkedais.backend.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mutual connections and "people you may know".
+ *
+ * Graph work is a second-degree traversal over ConnectionGraphSnapshot
+ * (sorted long rows, no queries). The database is only asked for course
+ * overlap and names of the few candidates that are returned.
+ */
+@Service
+public class ConnectionSuggestionService {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    // Candidates taken from each source (graph, classmates) before ranking
+    private static final int CANDIDATE_POOL = 200;
+
+    // Ranking: a mutual connection weighs more than a shared course, which weighs more than the program
+    private static final int MUTUAL_WEIGHT = 3;
+    private static final int COURSE_WEIGHT = 2;
+    private static final int PROGRAM_WEIGHT = 1;
+
+    private final ConnectionGraphSnapshot connectionGraphSnapshot;
+    private final ConnectionGraphCache connectionGraphCache;
+    private final UserRepository userRepository;
+
+    public ConnectionSuggestionService(ConnectionGraphSnapshot connectionGraphSnapshot,
+                                       ConnectionGraphCache connectionGraphCache,
+                                       UserRepository userRepository) {
+        this.connectionGraphSnapshot = connectionGraphSnapshot;
+        this.connectionGraphCache = connectionGraphCache;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Users connected to both, sorted by name.
+     */
+    public List<UserSearchResponse> getMutualConnections(Long userId, Long otherId) {
+        long[] mine = connectionGraphSnapshot.neighbors(userId);
+        long[] theirs = connectionGraphSnapshot.neighbors(otherId);
+
+        // Both rows are sorted: merge-intersect
+        List<Long> mutual = new ArrayList<>();
+        for (int i = 0, j = 0; i < mine.length && j < theirs.length; ) {
+            if (mine[i] < theirs[j]) {
+                i++;
+            } else if (mine[i] > theirs[j]) {
+                j++;
+            } else {
+                mutual.add(mine[i]);
+                i++;
+                j++;
+            }
+        }
+        if (mutual.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findSearchResponsesByIdIn(mutual).stream()
+                .sorted(Comparator.comparing(UserSearchResponse::getName, Comparator.nullsLast(String::compareTo)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Friends of friends and classmates the user has no connection (or request) with,
+     * ranked by mutual connections, shared courses and same study program.
+     */
+    public List<ConnectionSuggestion> getSuggestions(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        long[] direct = connectionGraphSnapshot.neighbors(userId);
+
+        // Second-degree traversal: each path user -> friend -> candidate is one mutual connection
+        Map<Long, Integer> mutualCounts = new HashMap<>();
+        for (long friend : direct) {
+            for (long candidate : connectionGraphSnapshot.neighbors(friend)) {
+                if (candidate != userId && Arrays.binarySearch(direct, candidate) < 0) {
+                    mutualCounts.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<Long, Integer> sharedCourses = new HashMap<>();
+        for (SharedCourseCount classmate : userRepository.findClassmates(userId, PageRequest.of(0, CANDIDATE_POOL))) {
+            sharedCourses.put(classmate.userId(), classmate.sharedCourses().intValue());
+        }
+
+        Set<Long> candidates = new LinkedHashSet<>();
+        mutualCounts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .limit(CANDIDATE_POOL)
+                .forEach(e -> candidates.add(e.getKey()));
+        candidates.addAll(sharedCourses.keySet());
+
+        // Anyone already connected, requested or rejected is not suggested
+        ConnectionGraphCache.Adjacency adjacency = connectionGraphCache.get(userId);
+        candidates.removeIf(id -> adjacency.sent().indexOf(id) >= 0 || adjacency.received().indexOf(id) >= 0);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> unknownOverlap = candidates.stream().filter(id -> !sharedCourses.containsKey(id)).toList();
+        if (!unknownOverlap.isEmpty()) {
+            userRepository.countSharedCourses(userId, unknownOverlap)
+                    .forEach(c -> sharedCourses.put(c.userId(), c.sharedCourses().intValue()));
+        }
+
+        List<Long> profileIds = new ArrayList<>(candidates);
+        profileIds.add(userId);
+        Map<Long, UserSearchResponse> profiles = userRepository.findSearchResponsesByIdIn(profileIds).stream()
+                .collect(Collectors.toMap(UserSearchResponse::getId, Function.identity()));
+        UserSearchResponse me = profiles.get(userId);
+        String program = me != null ? me.getStudyProgram() : null;
+
+        return candidates.stream()
+                .filter(profiles::containsKey)
+                .map(id -> {
+                    UserSearchResponse profile = profiles.get(id);
+                    return new ConnectionSuggestion(
+                            id,
+                            profile.getName(),
+                            profile.getStudyProgram(),
+                            mutualCounts.getOrDefault(id, 0),
+                            sharedCourses.getOrDefault(id, 0),
+                            program != null && Objects.equals(program, profile.getStudyProgram()));
+                })
+                .sorted(Comparator.comparingInt(ConnectionSuggestionService::score).reversed()
+                        .thenComparing(ConnectionSuggestion::userId))
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private static int score(ConnectionSuggestion s) {
+        return MUTUAL_WEIGHT * s.mutualConnections()
+                + COURSE_WEIGHT * s.sharedCourses()
+                + (s.sameStudyProgram() ? PROGRAM_WEIGHT : 0);
+    }
+}
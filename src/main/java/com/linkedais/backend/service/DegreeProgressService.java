@@ -5,10 +5,12 @@ import com.linkedais.backend.model.Course;
 import com.linkedais.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class DegreeProgressService {
@@ -16,26 +18,29 @@ public class DegreeProgressService {
     @Autowired
     private UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getDegreeProgressByUserId(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findAcademicById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return calculateProgress(user);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getDegreeProgressByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findAcademicByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return calculateProgress(user);
     }
 
     private Map<String, Object> calculateProgress(User user) {
-        List<Course> allCourses = user.getCourses();
+        Set<Course> allCourses = user.getCourses();
 
         int totalCredits = allCourses.stream()
                 .mapToInt(Course::getCredits)
                 .sum();
 
         int completedCredits = 0;
+        // Not in the User.academic graph: loaded here by a second select
         List<Long> completedCourseIds = user.getCompletedCourseIds();
 
         if (completedCourseIds != null && !completedCourseIds.isEmpty()) {
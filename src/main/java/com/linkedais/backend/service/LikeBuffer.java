@@ -0,0 +1,283 @@
+package com.linkedais.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.linkedais.backend.repository.LikeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for likes, enabled with {@code likes.buffer.enabled=true}.
+ *
+ * Like/unlike toggles are recorded in memory per (postId, userId) and written
+ * by a flusher with JDBC batching every {@code likes.buffer.flush-interval-ms}
+ * or once {@code likes.buffer.max-entries} toggles are pending, whichever comes
+ * first. Toggles on different keys never contend: ConcurrentHashMap locks per
+ * bin and the per-post deltas are LongAdders.
+ *
+ * The first toggle of a key with nothing pending checks the likes table, so
+ * liking twice fails and unliking a like that does not exist is a no-op, as in
+ * the unbuffered path. Reads add {@link #pendingDelta(long)} to the stored
+ * count so the clicking user sees their own like immediately; a batch leaves
+ * the delta just before its transaction commits, so it is never counted twice.
+ * Its toggles are dropped only after the commit: a toggle arriving meanwhile
+ * still sees the batch's state instead of asking the database, which cannot
+ * show the uncommitted rows yet.
+ * The stored counter only moves by rows actually inserted/deleted.
+ *
+ * A full buffer is flushed on a background thread, never on the request thread.
+ */
+@Component
+@ConditionalOnProperty(name = "likes.buffer.enabled", havingValue = "true")
+public class LikeBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeBuffer.class);
+
+    // Idempotent: skips missing posts and likes that already exist
+    private static final String INSERT_LIKE = """
+            INSERT INTO likes (post_id, user_id)
+            SELECT p.id, ? FROM posts p
+            WHERE p.id = ?
+              AND NOT EXISTS (SELECT 1 FROM likes l WHERE l.post_id = ? AND l.user_id = ?)
+            """;
+    private static final String DELETE_LIKE = "DELETE FROM likes WHERE post_id = ? AND user_id = ?";
+    private static final String ADJUST_LIKE_COUNT = "UPDATE posts SET like_count = like_count + ? WHERE id = ?";
+
+    record Key(long postId, long userId) {}
+
+    /** Toggles collected between two flushes: TRUE = like, FALSE = unlike. */
+    private static final class Generation {
+        final ConcurrentHashMap<Key, Boolean> toggles = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, LongAdder> delta = new ConcurrentHashMap<>();
+
+        void addDelta(long postId, int value) {
+            delta.computeIfAbsent(postId, id -> new LongAdder()).add(value);
+        }
+
+        int delta(long postId) {
+            LongAdder adder = delta.get(postId);
+            return adder == null ? 0 : adder.intValue();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LikeRepository likeRepository;
+    private final int maxEntries;
+
+    // One flusher thread; while a flush is queued further requests are dropped (it takes everything)
+    private final ThreadPoolExecutor flusher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "like-buffer-flush");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    // Toggles take the read lock (shared); a flush takes the write lock only to swap generations
+    // or to drop a batch's delta
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile Generation current = new Generation();
+    private volatile Generation inFlight = new Generation();
+
+    public LikeBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      LikeRepository likeRepository,
+                      @Value("${likes.buffer.max-entries:5000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.likeRepository = likeRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    public void like(long postId, long userId) {
+        toggle(new Key(postId, userId), true);
+    }
+
+    public void unlike(long postId, long userId) {
+        toggle(new Key(postId, userId), false);
+    }
+
+    /**
+     * Net like count change for a post that has not been written to the database yet.
+     */
+    public int pendingDelta(long postId) {
+        // Under the lock so a generation swap is never seen half done
+        swapLock.readLock().lock();
+        try {
+            return current.delta(postId) + inFlight.delta(postId);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public int pendingEntries() {
+        return current.toggles.size();
+    }
+
+    private void toggle(Key key, boolean like) {
+        // Nothing pending for this key: its state is what the database holds (queried outside the lock)
+        Boolean stored = isPending(key) ? null : likeRepository.existsByPostIdAndUserId(key.postId(), key.userId());
+
+        swapLock.readLock().lock();
+        try {
+            Generation gen = current;
+            Boolean flushing = inFlight.toggles.get(key);
+            gen.toggles.compute(key, (k, state) -> {
+                Boolean effective = state != null ? state : flushing != null ? flushing : stored;
+                if (like && Boolean.TRUE.equals(effective)) {
+                    throw new RuntimeException("Post already liked by this user");
+                }
+                if (!like && Boolean.FALSE.equals(effective)) {
+                    return state; // already unliked, nothing to do
+                }
+                gen.addDelta(k.postId(), like ? 1 : -1);
+                // A toggle that reverses a pending one cancels it out
+                return state == null ? like : null;
+            });
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (current.toggles.size() >= maxEntries) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    private boolean isPending(Key key) {
+        return current.toggles.containsKey(key) || inFlight.toggles.containsKey(key);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.buffer.flush-interval-ms:250}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // another thread is already flushing
+        }
+        try {
+            Generation batch;
+            swapLock.writeLock().lock();
+            try {
+                if (current.toggles.isEmpty()) {
+                    return;
+                }
+                batch = current;
+                inFlight = batch;
+                current = new Generation();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    write(batch);
+                    // Leave pendingDelta before the commit makes the rows visible, so reads
+                    // never count the batch twice (at worst they miss it while it commits).
+                    // The toggles stay: until the commit the database check cannot see them.
+                    swapLock.writeLock().lock();
+                    try {
+                        batch.delta.clear();
+                    } finally {
+                        swapLock.writeLock().unlock();
+                    }
+                });
+                swapLock.writeLock().lock();
+                try {
+                    inFlight = new Generation();
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Like flush of {} toggles failed, re-queueing", batch.toggles.size(), e);
+                swapLock.writeLock().lock();
+                try {
+                    inFlight = new Generation();
+                    requeue(batch);
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(Generation batch) {
+        List<Key> insertKeys = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Key> deleteKeys = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        batch.toggles.forEach((key, liked) -> {
+            if (liked) {
+                insertKeys.add(key);
+                inserts.add(new Object[]{key.userId(), key.postId(), key.postId(), key.userId()});
+            } else {
+                deleteKeys.add(key);
+                deletes.add(new Object[]{key.postId(), key.userId()});
+            }
+        });
+
+        Map<Long, Integer> applied = new HashMap<>();
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_LIKE, inserts);
+        for (int i = 0; i < inserted.length; i++) {
+            applied.merge(insertKeys.get(i).postId(), rowsAffected(inserted[i]), Integer::sum);
+        }
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_LIKE, deletes);
+        for (int i = 0; i < deleted.length; i++) {
+            applied.merge(deleteKeys.get(i).postId(), -rowsAffected(deleted[i]), Integer::sum);
+        }
+
+        List<Object[]> counterUpdates = new ArrayList<>();
+        applied.forEach((postId, delta) -> {
+            if (delta != 0) {
+                counterUpdates.add(new Object[]{delta, postId});
+            }
+        });
+        jdbcTemplate.batchUpdate(ADJUST_LIKE_COUNT, counterUpdates);
+    }
+
+    // Drivers that rewrite batches report SUCCESS_NO_INFO; assume one row,
+    // PostCounterReconciler repairs any drift.
+    private static int rowsAffected(int count) {
+        return count == Statement.SUCCESS_NO_INFO ? 1 : count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush(); // write what is left before the context closes
+    }
+
+    /**
+     * Puts a failed batch back. A newer toggle for the same key wins, since it
+     * reflects the user's latest intent.
+     */
+    private void requeue(Generation batch) {
+        swapLock.readLock().lock();
+        try {
+            Generation gen = current;
+            batch.toggles.forEach((key, liked) -> {
+                if (gen.toggles.putIfAbsent(key, liked) == null) {
+                    gen.addDelta(key.postId(), liked ? 1 : -1);
+                }
+            });
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
@@ -2,12 +2,12 @@ package com.linkedais.backend.service;
 
 import com.linkedais.backend.model.Like;
 import com.linkedais.backend.model.Post;
-import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.LikeRepository;
 import com.linkedais.backend.repository.PostRepository;
 import com.linkedais.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class LikeService {
@@ -20,26 +20,44 @@ public class LikeService {
     @Autowired
     private UserRepository userRepository;
 
-    public void likePost(Long id, String email) {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+    // Present only when likes.buffer.enabled=true
+    @Autowired(required = false)
+    private LikeBuffer likeBuffer;
 
-        if (likeRepository.existsByPostIdAndUserId(id, user.getId())) {
+    @Transactional
+    public void likePost(Long id, Long userId) {
+        if (likeBuffer != null) {
+            likeBuffer.like(id, userId);
+            return;
+        }
+
+        if (likeRepository.existsByPostIdAndUserId(id, userId)) {
             throw new RuntimeException("Post already liked by this user");
         }
         Post post  = postRepository.findById(id).orElseThrow(() -> new RuntimeException("Post not found"));
 
         Like like  = new Like();
         like.setPost(post);
-        like.setUser(user);
+        like.setUser(userRepository.getReferenceById(userId));
         likeRepository.save(like);
+        postRepository.adjustLikeCount(id, 1);
     }
-    public void unlikePost(Long id, String email) {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-        likeRepository.deleteByPostIdAndUserId(id, user.getId());
+    @Transactional
+    public void unlikePost(Long id, Long userId) {
+        if (likeBuffer != null) {
+            likeBuffer.unlike(id, userId);
+            return;
+        }
+        long removed = likeRepository.deleteByPostIdAndUserId(id, userId);
+        if (removed > 0) {
+            postRepository.adjustLikeCount(id, (int) -removed);
+        }
     }
 
+    // Reads the posts.like_count counter instead of counting the likes table
     public int getLikeCount(Long id)
     {
-        return likeRepository.countByPostId(id);
+        int pending = likeBuffer != null ? likeBuffer.pendingDelta(id) : 0;
+        return postRepository.findLikeCount(id).orElse(0) + pending;
     }
 }
@@ -1,30 +1,64 @@
 package com.linkedais.backend.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.linkedais.backend.dto.ConversationSummary;
+import com.linkedais.backend.dto.CursorPage;
 import com.linkedais.backend.dto.MessageResponse;
+import com.linkedais.backend.model.Conversation;
 import com.linkedais.backend.model.Message;
 import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.ConversationRepository;
 import com.linkedais.backend.repository.MessageRepository;
 import com.linkedais.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 @Service
 public class MessageService {
+    private static final int MAX_CONVERSATIONS_PAGE = 100;
+    private static final int MAX_HISTORY_LIMIT = 200;
+    // Detach exported messages in chunks so the persistence context stays small
+    private static final int EXPORT_CLEAR_EVERY = 500;
+
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final ConversationRepository conversationRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MessageService(MessageRepository messageRepository, UserRepository userRepository) {
+    public MessageService(MessageRepository messageRepository, UserRepository userRepository,
+                          ConversationRepository conversationRepository, EntityManager entityManager,
+                          ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
         this.messageRepository = messageRepository;
         this.userRepository = userRepository;
+        this.conversationRepository = conversationRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional
     public MessageResponse sendMessage(Long senderId, Long receiverId, String content) {
         if (senderId.equals(receiverId)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
@@ -40,9 +74,12 @@ public class MessageService {
         message.setReceiver(receiver);
         message.setContent(content.trim());
 
-        return MessageResponse.from(messageRepository.save(message));
+        Message saved = messageRepository.save(message);
+        updateConversation(saved);
+        return pushToReceiver(MessageResponse.from(saved));
     }
 
+    @Transactional
     public MessageResponse replyToMessage(Long parentMessageId, Long senderId, String content) {
         Message parent = findMessageOrThrow(parentMessageId);
 
@@ -64,17 +101,91 @@ public class MessageService {
         reply.setContent(content.trim());
         reply.setParentMessage(parent);
 
-        return MessageResponse.from(messageRepository.save(reply));
+        Message saved = messageRepository.save(reply);
+        updateConversation(saved);
+        return pushToReceiver(MessageResponse.from(saved));
     }
 
+    @Transactional
     public void deleteMessage(Long messageId, Long requesterId) {
         Message message = findMessageOrThrow(messageId);
         if(!message.getSender().getId().equals(requesterId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only delete messages you sent.");
         }
 
+        if (message.isDeleted()) {
+            return; // already deleted, counters were adjusted then
+        }
+
         message.setDeleted(true);
         messageRepository.save(message);
+
+        Long senderId = message.getSender().getId();
+        Long receiverId = message.getReceiver().getId();
+        Long low = Math.min(senderId, receiverId);
+        Long high = Math.max(senderId, receiverId);
+
+        // An unread message no longer counts towards the receiver's badge
+        conversationRepository.retractUnread(low, high, receiverId, messageId);
+
+        // If it was the conversation's last message, fall back to the previous one
+        conversationRepository.findByUserLowIdAndUserHighId(low, high)
+                .filter(c -> messageId.equals(c.getLastMessageId()))
+                .ifPresent(c -> {
+                    Message previous = messageRepository.findLatestBetween(low, high, PageRequest.of(0, 1))
+                            .stream().findFirst().orElse(null);
+                    if (previous == null) {
+                        conversationRepository.replaceLastMessage(low, high, null, null, null, null);
+                    } else {
+                        conversationRepository.replaceLastMessage(low, high, previous.getId(),
+                                snippet(previous.getContent()), previous.getCreatedAt(), previous.getSender().getId());
+                    }
+                });
+    }
+
+    /**
+     * Inbox from the conversations summary table: one indexed read, unread counts included.
+     */
+    public List<ConversationSummary> getInbox(Long userId, int page, int size) {
+        findUserOrThrow(userId);
+        int limit = Math.min(Math.max(size, 1), MAX_CONVERSATIONS_PAGE);
+        return conversationRepository.findInbox(userId, PageRequest.of(Math.max(page, 0), limit));
+    }
+
+    /**
+     * Resets the user's unread counter of the conversation with partnerId.
+     */
+    @Transactional
+    public void markConversationRead(Long userId, Long partnerId) {
+        conversationRepository.markRead(Math.min(userId, partnerId), Math.max(userId, partnerId), userId);
+    }
+
+    // Delivered to the receiver's open streams after commit (PushHub)
+    private MessageResponse pushToReceiver(MessageResponse response) {
+        eventPublisher.publishEvent(new PushEvent(response.receiverId(), "message", response));
+        return response;
+    }
+
+    // Upserts the pair's summary row in the caller's transaction
+    private void updateConversation(Message message) {
+        Long senderId = message.getSender().getId();
+        Long receiverId = message.getReceiver().getId();
+        Long low = Math.min(senderId, receiverId);
+        Long high = Math.max(senderId, receiverId);
+        boolean receiverIsLow = receiverId.equals(low);
+
+        conversationRepository.insertIfAbsent(low, high);
+        conversationRepository.recordMessage(low, high, message.getId(), snippet(message.getContent()),
+                message.getCreatedAt(), senderId, receiverIsLow ? 1 : 0, receiverIsLow ? 0 : 1);
+    }
+
+    // Counted in code points like the varchar column (and 001_conversations_backfill.sql):
+    // up to SNIPPET_LENGTH as is, longer ones cut to SNIPPET_LENGTH - 1 plus "…"
+    static String snippet(String content) {
+        if (content.codePointCount(0, content.length()) <= Conversation.SNIPPET_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, Conversation.SNIPPET_LENGTH - 1)) + "…";
     }
 
     public List<MessageResponse> getConversation(Long userAId, Long userBId) {
@@ -86,6 +197,71 @@ public class MessageService {
                 .toList();
     }
 
+    /**
+     * One newest-first slice of a conversation. Without a cursor the latest
+     * messages are returned; "before" pages back in history, "after" returns
+     * messages newer than the given id (e.g. polling for new ones).
+     * nextCursor is the id to pass as "before" (or "after") for the next slice.
+     */
+    public CursorPage<MessageResponse> getConversationPage(Long userAId, Long userBId,
+                                                           Long before, Long after, int limit) {
+        if (before != null && after != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Use either before or after, not both.");
+        }
+        findUserOrThrow(userAId);
+        findUserOrThrow(userBId);
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT)));
+
+        Slice<Message> slice;
+        List<Message> messages;
+        if (after != null) {
+            slice = messageRepository.findConversationAfter(userAId, userBId, after, pageable);
+            messages = new ArrayList<>(slice.getContent());
+            Collections.reverse(messages);
+        } else {
+            slice = before != null
+                    ? messageRepository.findConversationBefore(userAId, userBId, before, pageable)
+                    : messageRepository.findConversationLatest(userAId, userBId, pageable);
+            messages = slice.getContent();
+        }
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            // after: continue from the newest returned; before/latest: from the oldest
+            Message edge = after != null ? messages.get(0) : messages.get(messages.size() - 1);
+            nextCursor = String.valueOf(edge.getId());
+        }
+        return new CursorPage<>(messages.stream().map(MessageResponse::from).toList(), nextCursor, slice.hasNext());
+    }
+
+    /**
+     * Writes the whole conversation as a JSON array, oldest first, without
+     * building a list: rows come from a database cursor and are serialized
+     * one by one. The output is flushed every EXPORT_CLEAR_EVERY messages,
+     * not after each one.
+     */
+    @Transactional(readOnly = true)
+    public void exportConversation(Long userAId, Long userBId, OutputStream out) throws IOException {
+        findUserOrThrow(userAId);
+        findUserOrThrow(userBId);
+        // FLUSH_AFTER_WRITE_VALUE (on by default) would flush the response after every message
+        ObjectWriter writer = objectMapper.writerFor(MessageResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Message> messages = messageRepository.streamConversation(userAId, userBId);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartArray();
+            int written = 0;
+            for (Message message : (Iterable<Message>) messages::iterator) {
+                writer.writeValue(json, MessageResponse.from(message));
+                if (++written % EXPORT_CLEAR_EVERY == 0) {
+                    json.flush();
+                    entityManager.clear();
+                }
+            }
+            json.writeEndArray();
+        }
+    }
+
     public List<MessageResponse> getReplies(Long parentMessageId) {
         findMessageOrThrow(parentMessageId);
         return messageRepository.findReplies(parentMessageId)
@@ -93,26 +269,26 @@ public class MessageService {
                 .map(MessageResponse::from)
                 .toList();
     }
-    public List<MessageResponse> getConversations(Long userId) {
-        User user = findUserOrThrow(userId);
-
-        List<Message> sent = messageRepository.findBySenderOrderByCreatedAtAsc(user);
-        List<Message> received = messageRepository.findByReceiverOrderByCreatedAtAsc(user);
-
-        Map<Long, Message> latestByPartner = new LinkedHashMap<>();
+    /**
+     * Latest message per conversation partner, newest first, one page at a time.
+     * The database picks the latest message per partner; only the page is loaded.
+     */
+    public List<MessageResponse> getConversations(Long userId, int page, int size) {
+        findUserOrThrow(userId);
+        int limit = Math.min(Math.max(size, 1), MAX_CONVERSATIONS_PAGE);
 
-        Stream.concat(sent.stream(), received.stream())
-                .filter(m -> !m.isDeleted())
-                .sorted(Comparator.comparing(Message::getCreatedAt))
-                .forEach(m -> {
-                    Long partnerId = m.getSender().getId().equals(userId)
-                            ? m.getReceiver().getId()
-                            : m.getSender().getId();
-                    latestByPartner.put(partnerId, m);
-                });
-
-        return latestByPartner.values().stream()
-                .sorted(Comparator.comparing(Message::getCreatedAt).reversed())
+        List<Long> ids = messageRepository.findInboxMessageIds(userId, limit, (long) Math.max(page, 0) * limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Message> byId = new HashMap<>();
+        for (Message message : messageRepository.findWithParticipantsByIdIn(ids)) {
+            byId.put(message.getId(), message);
+        }
+        // Keep the recency order of the id query
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(MessageResponse::from)
                 .toList();
     }
@@ -0,0 +1,104 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.repository.NotificationRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes grouped notifications ("Jonas pakomentavo jūsų įrašą (ir dar 41)") as one
+ * row per (user, group key) instead of one row per event.
+ *
+ * Each notification is an INSERT ... ON CONFLICT (user_id, group_key) DO UPDATE,
+ * sent in one JDBC batch per group. A conflicting row is moved to the top,
+ * marked unread again and takes over the new event's message, comment and
+ * actor. actor_count grows by one unless the same actor repeats; if the row
+ * had already been read it starts over at 1. The count is an approximation
+ * of distinct actors, which is all the UI shows.
+ *
+ * Moving to the top takes a new created_at, so the row sorts like a freshly
+ * inserted notification. A client paging down with a keyset cursor never gets
+ * the row twice: if it had not reached the row yet, the row now sits above the
+ * cursor and arrives through the push stream instead. Read-all acknowledges by
+ * that same (created_at, id) position, never by id alone, because ids are not
+ * ordered: Hibernate hands them out in pooled blocks, and the nextval below
+ * can be higher than ids that saveAll inserts afterwards.
+ *
+ * The row also takes a new id, so a client still holding the old id cannot
+ * mark the new event read by it. The old id no longer exists.
+ */
+@Component
+public class NotificationAggregator {
+
+    // Ids come from notifications_seq like JPA-inserted rows; a nextval outside
+    // Hibernate's pooled range is never handed out by Hibernate itself
+    private static final String UPSERT = """
+            INSERT INTO notifications (id, user_id, type, message, post_id, comment_id, is_read, created_at,
+                                       group_key, actor_count, last_actor_id)
+            VALUES (nextval('notifications_seq'), ?, ?, ?, ?, ?, false, ?, ?, 1, ?)
+            ON CONFLICT (user_id, group_key) DO UPDATE SET
+                actor_count = CASE WHEN notifications.is_read THEN 1
+                                   WHEN notifications.last_actor_id = EXCLUDED.last_actor_id THEN notifications.actor_count
+                                   ELSE notifications.actor_count + 1 END,
+                last_actor_id = EXCLUDED.last_actor_id,
+                message = EXCLUDED.message,
+                comment_id = EXCLUDED.comment_id,
+                is_read = false,
+                created_at = EXCLUDED.created_at,
+                id = EXCLUDED.id
+            """;
+
+    /**
+     * @param rows the aggregate rows as they are after the upsert
+     * @param newlyUnread per user, how many of their aggregate rows went from read/absent to unread
+     */
+    public record Result(List<Notification> rows, Map<Long, Long> newlyUnread) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationRepository notificationRepository;
+
+    public NotificationAggregator(JdbcTemplate jdbcTemplate, NotificationRepository notificationRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * @param notifications unsaved notifications with a group key and last actor set
+     */
+    public Result upsert(List<Notification> notifications) {
+        Map<String, List<Notification>> byGroup = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getGroupKey, LinkedHashMap::new, Collectors.toList()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Notification> rows = new ArrayList<>();
+        Map<Long, Long> newlyUnread = new HashMap<>();
+        byGroup.forEach((groupKey, members) -> {
+            List<Long> userIds = members.stream().map(n -> n.getUser().getId()).distinct().toList();
+            Set<Long> alreadyUnread = new HashSet<>(notificationRepository.findUnreadGroupMembers(groupKey, userIds));
+
+            jdbcTemplate.batchUpdate(UPSERT, members.stream()
+                    .map(n -> new Object[]{n.getUser().getId(), n.getType(), n.getMessage(), n.getPostId(),
+                            n.getCommentId(), now, groupKey, n.getLastActorId()})
+                    .toList());
+
+            rows.addAll(notificationRepository.findByGroupKeyAndUserIds(groupKey, userIds));
+            for (Long userId : userIds) {
+                if (!alreadyUnread.contains(userId)) {
+                    newlyUnread.merge(userId, 1L, Long::sum);
+                }
+            }
+        });
+        return new Result(rows, newlyUnread);
+    }
+}
@@ -0,0 +1,212 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Comment;
+import com.linkedais.backend.model.Connection;
+import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.model.OutboxDeadLetter;
+import com.linkedais.backend.model.OutboxEvent;
+import com.linkedais.backend.repository.CommentRepository;
+import com.linkedais.backend.repository.ConnectionRepository;
+import com.linkedais.backend.repository.OutboxDeadLetterRepository;
+import com.linkedais.backend.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns outbox events into notifications off the request thread.
+ *
+ * A commit that enqueued an event hands a drain task to a small bounded
+ * pool; when its queue is full the committing thread drains itself
+ * (backpressure), like PushHub. A drain claims due events in batches with
+ * FOR UPDATE SKIP LOCKED, so workers (and other instances) never take the
+ * same event, builds all their notifications and writes them with one
+ * saveAll, then deletes the events in the same transaction.
+ *
+ * If a batch fails, its events are retried one by one so a single bad event
+ * cannot hold back the others; a failing event is retried with exponential
+ * backoff and parked in notification_outbox_dead after
+ * notifications.outbox.max-attempts. A periodic
+ * poll picks up retries and anything left behind by a restart.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final long MAX_BACKOFF_MS = 3_600_000L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final CommentRepository commentRepository;
+    private final ConnectionRepository connectionRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    public NotificationDispatcher(OutboxEventRepository outboxEventRepository,
+                                  OutboxDeadLetterRepository deadLetterRepository,
+                                  CommentRepository commentRepository,
+                                  ConnectionRepository connectionRepository,
+                                  NotificationService notificationService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${notifications.outbox.worker-threads:2}") int workerThreads,
+                                  @Value("${notifications.outbox.worker-queue:1000}") int workerQueue,
+                                  @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                                  @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+                                  @Value("${notifications.outbox.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.commentRepository = commentRepository;
+        this.connectionRepository = connectionRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerQueue), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    // Runs once the enqueuing transaction has committed, so the event is visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnqueued(NotificationOutbox.Enqueued event) {
+        workers.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        workers.execute(this::drain);
+    }
+
+    /**
+     * Dispatches due events until a batch comes back short.
+     */
+    public void drain() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<Long> ids = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OutboxEvent> events = outboxEventRepository.claimDue(LocalDateTime.now(), batchSize);
+                events.forEach(event -> ids.add(event.getId()));
+                dispatch(events);
+                outboxEventRepository.deleteAllInBatch(events);
+            });
+        } catch (RuntimeException e) {
+            if (ids.isEmpty()) {
+                log.warn("Could not claim notification outbox events", e);
+                return 0;
+            }
+            log.warn("Notification batch of {} events failed, retrying one by one", ids.size(), e);
+            ids.forEach(this::dispatchOne);
+        }
+        return ids.size();
+    }
+
+    private void dispatchOne(Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.claimById(id).ifPresent(event -> {
+                        dispatch(List.of(event));
+                        outboxEventRepository.delete(event);
+                    }));
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+        }
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.findById(id).ifPresent(event -> {
+                    int attempts = event.getAttempts() + 1;
+                    event.setAttempts(attempts);
+                    event.setLastError(truncate(String.valueOf(error.getMessage())));
+                    if (attempts >= maxAttempts) {
+                        // Out of the outbox, so a later event about the same subject is not coalesced into it
+                        deadLetterRepository.save(new OutboxDeadLetter(event, LocalDateTime.now()));
+                        outboxEventRepository.delete(event);
+                        log.error("Giving up on notification event {} {} after {} attempts",
+                                event.getType(), event.getSubjectId(), attempts, error);
+                    } else {
+                        long backoff = Math.min(retryBackoffMs << Math.min(attempts - 1, 20), MAX_BACKOFF_MS);
+                        event.setNextAttemptAt(LocalDateTime.now().plusNanos(backoff * 1_000_000));
+                    }
+                }));
+    }
+
+    /**
+     * Builds the notifications of all events and saves them in one batch.
+     * Events whose comment/connection no longer exists are dropped.
+     */
+    private void dispatch(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Long> commentIds = subjectIds(events, true);
+        List<Long> connectionIds = subjectIds(events, false);
+        Map<Long, Comment> comments = commentIds.isEmpty() ? Map.of()
+                : commentRepository.findWithPostAndAuthorByIdIn(commentIds).stream()
+                        .collect(Collectors.toMap(Comment::getId, Function.identity()));
+        Map<Long, Connection> connections = connectionIds.isEmpty() ? Map.of()
+                : connectionRepository.findWithUsersByIdIn(connectionIds).stream()
+                        .collect(Collectors.toMap(Connection::getId, Function.identity()));
+
+        List<Notification> notifications = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (OutboxEvent.COMMENT_CREATED.equals(event.getType())) {
+                Comment comment = comments.get(event.getSubjectId());
+                if (comment != null) {
+                    notifications.addAll(notificationService.buildCommentNotifications(
+                            comment.getPost(), comment, comment.getAuthor()));
+                }
+            } else {
+                Connection connection = connections.get(event.getSubjectId());
+                if (connection != null) {
+                    notifications.add(notificationService.buildConnectionNotification(connection, event.getType()));
+                }
+            }
+        }
+        notificationService.saveAndPush(notifications);
+    }
+
+    private static List<Long> subjectIds(List<OutboxEvent> events, boolean comments) {
+        return events.stream()
+                .filter(event -> OutboxEvent.COMMENT_CREATED.equals(event.getType()) == comments)
+                .map(OutboxEvent::getSubjectId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,39 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.repository.OutboxEventRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry point of the notification outbox: records that a fan-out has to
+ * happen, as part of the caller's transaction. The notifications themselves
+ * are created later by {@link NotificationDispatcher}, so the request only
+ * pays for one small insert.
+ */
+@Component
+public class NotificationOutbox {
+
+    /** Published on enqueue; the dispatcher wakes up once the transaction commits. */
+    public record Enqueued(String type, Long subjectId) {}
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public NotificationOutbox(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher eventPublisher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param type one of the OutboxEvent types
+     * @param subjectId comment id or connection id the event is about
+     */
+    public void enqueue(String type, Long subjectId) {
+        // A duplicate of a still-pending event is coalesced into the existing row
+        if (outboxEventRepository.insertIfAbsent(type, subjectId, LocalDateTime.now()) > 0) {
+            eventPublisher.publishEvent(new Enqueued(type, subjectId));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background job that keeps the notifications table bounded: read
+ * notifications older than notifications.retention.days are deleted in
+ * chunks, each chunk a short transaction. Unread ones are never removed.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notifications.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Scheduled(initialDelayString = "${notifications.retention.initial-delay-ms:120000}",
+               fixedDelayString = "${notifications.retention.interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = notificationRepository.deleteReadBefore(cutoff, chunkSize);
+            deleted += chunk;
+        } while (chunk == chunkSize);
+        if (deleted > 0) {
+            log.info("Deleted {} read notifications older than {} days", deleted, retentionDays);
+        }
+    }
+}
@@ -1,60 +1,156 @@
 package com.linkedais.backend.service;
 
+import com.linkedais.backend.dto.CursorPage;
+import com.linkedais.backend.dto.KeysetCursor;
 import com.linkedais.backend.dto.NotificationResponse;
 import com.linkedais.backend.model.Comment;
+import com.linkedais.backend.model.Connection;
 import com.linkedais.backend.model.Notification;
 import com.linkedais.backend.model.Post;
 import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.CommentRepository;
 import com.linkedais.backend.repository.NotificationRepository;
+import com.linkedais.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class NotificationService {
 
+    private static final int MAX_PAGE_LIMIT = 100;
+
     private final NotificationRepository notificationRepository;
     private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationAggregator notificationAggregator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Comment notifications collapse into one row per (user, post, type)
+    private final boolean groupComments;
 
-    public NotificationService(NotificationRepository notificationRepository, CommentRepository commentRepository) {
+    public NotificationService(NotificationRepository notificationRepository, CommentRepository commentRepository,
+                               UserRepository userRepository, UnreadNotificationCounter unreadNotificationCounter,
+                               NotificationAggregator notificationAggregator, ApplicationEventPublisher eventPublisher,
+                               @Value("${notifications.grouping.enabled:true}") boolean groupComments) {
         this.notificationRepository = notificationRepository;
         this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationAggregator = notificationAggregator;
+        this.eventPublisher = eventPublisher;
+        this.groupComments = groupComments;
     }
 
+    /**
+     * Notifies the post author and everyone else who commented on the post.
+     * Recipients come from a distinct author-id query and all notifications
+     * are written with one batched saveAll (hibernate.jdbc.batch_size), or
+     * upserted into aggregate rows when notifications.grouping.enabled is on.
+     */
     public void createCommentNotifications(Post post, Comment newComment, User commentAuthor) {
-        Set<Long> notifiedUserIds = new HashSet<>();
+        saveAndPush(buildCommentNotifications(post, newComment, commentAuthor));
+    }
+
+    public List<Notification> buildCommentNotifications(Post post, Comment newComment, User commentAuthor) {
+        Long postAuthorId = post.getAuthor().getId();
+        Long commentAuthorId = commentAuthor.getId();
+        List<Notification> notifications = new ArrayList<>();
 
         // 1. Notify the post author (if not the comment author)
-        if (!post.getAuthor().getId().equals(commentAuthor.getId())) {
-            Notification notification = new Notification();
-            notification.setUser(post.getAuthor());
-            notification.setType("COMMENT");
-            notification.setMessage(commentAuthor.getName() + " pakomentavo jūsų įrašą");
-            notification.setPostId(post.getId());
-            notification.setCommentId(newComment.getId());
-            notificationRepository.save(notification);
-            notifiedUserIds.add(post.getAuthor().getId());
+        if (!postAuthorId.equals(commentAuthorId)) {
+            notifications.add(commentNotification(post.getAuthor(), "COMMENT",
+                    commentAuthor.getName() + " pakomentavo jūsų įrašą", post, newComment, commentAuthorId));
         }
 
-        // 2. Notify other commenters on the same post (excluding comment author and already notified)
-        List<Comment> existingComments = commentRepository.findByPostId(post.getId());
-        for (Comment existingComment : existingComments) {
-            Long existingAuthorId = existingComment.getAuthor().getId();
-            if (!existingAuthorId.equals(commentAuthor.getId()) && !notifiedUserIds.contains(existingAuthorId)) {
-                Notification notification = new Notification();
-                notification.setUser(existingComment.getAuthor());
-                notification.setType("COMMENT_REPLY");
-                notification.setMessage(commentAuthor.getName() + " atsakė į jūsų komentarą");
-                notification.setPostId(post.getId());
-                notification.setCommentId(newComment.getId());
-                notificationRepository.save(notification);
-                notifiedUserIds.add(existingAuthorId);
+        // 2. Notify other commenters on the same post (excluding comment author and post author)
+        for (Long commenterId : commentRepository.findDistinctAuthorIdsByPostId(post.getId())) {
+            if (!commenterId.equals(commentAuthorId) && !commenterId.equals(postAuthorId)) {
+                notifications.add(commentNotification(userRepository.getReferenceById(commenterId), "COMMENT_REPLY",
+                        commentAuthor.getName() + " atsakė į jūsų komentarą", post, newComment, commentAuthorId));
+            }
+        }
+        return notifications;
+    }
+
+    /**
+     * Notification for a connection event: the receiver gets CONNECTION_REQUEST,
+     * the sender gets CONNECTION_ACCEPTED / CONNECTION_REJECTED.
+     */
+    public Notification buildConnectionNotification(Connection connection, String type) {
+        Notification notification = new Notification();
+        notification.setType(type);
+        switch (type) {
+            case "CONNECTION_REQUEST" -> {
+                notification.setUser(connection.getReceiver());
+                notification.setMessage(connection.getSender().getName() + " nori prisijungti prie jūsų tinklo");
+                notification.setConnectionId(connection.getId());
             }
+            case "CONNECTION_ACCEPTED" -> {
+                notification.setUser(connection.getSender());
+                notification.setMessage(connection.getReceiver().getName() + " priėmė jūsų prisijungimo užklausą");
+            }
+            case "CONNECTION_REJECTED" -> {
+                notification.setUser(connection.getSender());
+                notification.setMessage(connection.getReceiver().getName() + " atmetė jūsų prisijungimo užklausą");
+            }
+            default -> throw new IllegalArgumentException("Unknown connection notification type: " + type);
+        }
+        return notification;
+    }
+
+    /**
+     * Writes the notifications in one batch and pushes each to its recipient after commit.
+     * Notifications with a group key are merged into their aggregate rows instead.
+     */
+    public void saveAndPush(List<Notification> notifications) {
+        Map<Boolean, List<Notification>> byGrouping = notifications.stream()
+                .collect(Collectors.partitioningBy(n -> n.getGroupKey() != null));
+        List<Notification> single = byGrouping.get(false);
+        List<Notification> grouped = byGrouping.get(true);
+        Map<Long, Long> newlyUnread = new HashMap<>();
+
+        if (!single.isEmpty()) {
+            notificationRepository.saveAll(single).forEach(this::push);
+            single.forEach(n -> newlyUnread.merge(n.getUser().getId(), 1L, Long::sum));
+        }
+        if (!grouped.isEmpty()) {
+            NotificationAggregator.Result result = notificationAggregator.upsert(grouped);
+            result.rows().forEach(this::push);
+            result.newlyUnread().forEach((userId, count) -> newlyUnread.merge(userId, count, Long::sum));
         }
+        newlyUnread.forEach((userId, count) -> eventPublisher.publishEvent(new UnreadNotificationCounter.Changed(userId, count)));
+    }
+
+    private Notification commentNotification(User recipient, String type, String message, Post post, Comment comment,
+                                             Long actorId) {
+        Notification notification = new Notification();
+        notification.setUser(recipient);
+        notification.setType(type);
+        notification.setMessage(message);
+        notification.setPostId(post.getId());
+        notification.setCommentId(comment.getId());
+        notification.setLastActorId(actorId);
+        if (groupComments) {
+            notification.setGroupKey(type + ":post:" + post.getId());
+        }
+        return notification;
+    }
+
+    // Delivered to the recipient's open streams after commit (PushHub)
+    private void push(Notification notification) {
+        eventPublisher.publishEvent(new PushEvent(notification.getUser().getId(), "notification", toResponse(notification)));
     }
 
     public List<NotificationResponse> getUserNotifications(Long userId) {
@@ -63,25 +159,65 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Cursor-based notification list. {@code before} is the opaque cursor returned
+     * with the previous slice (null for the newest notifications).
+     */
+    public CursorPage<NotificationResponse> getNotificationPage(Long userId, String before, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_LIMIT)));
+
+        Slice<Notification> slice;
+        if (before == null || before.isBlank()) {
+            slice = notificationRepository.findLatest(userId, pageable);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(before);
+            slice = notificationRepository.findBefore(userId, cursor.createdAt(), cursor.id(), pageable);
+        }
+
+        List<Notification> notifications = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Notification last = notifications.get(notifications.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(notifications.stream().map(this::toResponse).toList(), nextCursor, slice.hasNext());
+    }
+
     private NotificationResponse toResponse(Notification n) {
-        return new NotificationResponse(
+        NotificationResponse response = new NotificationResponse(
                 n.getId(),
                 n.getUser().getId(),
                 n.getType(),
-                n.getMessage(),
+                // Aggregate rows keep the latest actor's message, e.g. "Jonas pakomentavo jūsų įrašą (ir dar 41)"
+                n.getActorCount() > 1 ? n.getMessage() + " (ir dar " + (n.getActorCount() - 1) + ")" : n.getMessage(),
                 n.getPostId(),
                 n.getCommentId(),
                 n.isRead(),
                 n.getCreatedAt(),
                 n.getConnectionId()
         );
+        response.setActorCount(n.getActorCount());
+        response.setCursor(new KeysetCursor(n.getCreatedAt(), n.getId()).encode());
+        return response;
     }
     public void markAsRead(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
+        if (notification.isRead()) {
+            return;
+        }
         notification.setRead(true);
         notificationRepository.save(notification);
+        eventPublisher.publishEvent(new UnreadNotificationCounter.Changed(notification.getUser().getId(), -1));
     }
+
+    /**
+     * Badge count; served from UnreadNotificationCounter instead of loading the unread rows.
+     */
+    public long getUnreadCount(Long userId) {
+        return unreadNotificationCounter.get(userId);
+    }
+
     public List<NotificationResponse> getUnreadNotifications(Long userId) {
         return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId)
                 .stream()
@@ -89,11 +225,21 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
-    public void markAllAsRead(Long userId) {
-        List<Notification> unread = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
-        for (Notification notification : unread) {
-            notification.setRead(true);
+    /**
+     * Marks the user's unread notifications as read with one bulk UPDATE.
+     *
+     * @param upTo if not blank, the cursor of the newest notification the client has shown;
+     *             only notifications at or below that position are marked
+     */
+    @Transactional
+    public void markAllAsRead(Long userId, String upTo) {
+        int updated;
+        if (upTo == null || upTo.isBlank()) {
+            updated = notificationRepository.markAllRead(userId);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(upTo);
+            updated = notificationRepository.markReadUpTo(userId, cursor.createdAt(), cursor.id());
         }
-        notificationRepository.saveAll(unread);
+        eventPublisher.publishEvent(new UnreadNotificationCounter.Changed(userId, -updated));
     }
 }
@@ -0,0 +1,41 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that repairs drift in the denormalized Post.likeCount /
+ * Post.commentCount columns (e.g. after manual SQL or a failed increment).
+ * Walks the posts table in id ranges so each batch is a short transaction.
+ */
+@Component
+public class PostCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCounterReconciler.class);
+
+    private final PostRepository postRepository;
+
+    @Value("${posts.counters.reconcile-batch-size:1000}")
+    private int batchSize;
+
+    public PostCounterReconciler(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Scheduled(initialDelayString = "${posts.counters.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${posts.counters.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        long maxId = postRepository.findMaxId();
+        int repaired = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            repaired += postRepository.reconcileCounters(fromId, fromId + batchSize);
+        }
+        if (repaired > 0) {
+            log.info("Repaired like/comment counters on {} posts", repaired);
+        }
+    }
+}
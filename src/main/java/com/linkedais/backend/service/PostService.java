@@ -1,42 +1,44 @@
 package com.linkedais.backend.service;
 
 import com.linkedais.backend.dto.CreatePostRequest;
+import com.linkedais.backend.dto.CursorPage;
+import com.linkedais.backend.dto.KeysetCursor;
 import com.linkedais.backend.dto.PostResponse;
+import com.linkedais.backend.dto.UserIdentity;
 import com.linkedais.backend.model.Post;
-import com.linkedais.backend.model.User;
-import com.linkedais.backend.repository.CommentRepository;
-import com.linkedais.backend.repository.LikeRepository;
 import com.linkedais.backend.repository.PostRepository;
 import com.linkedais.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import java.util.ArrayList;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 @Service
 public class PostService {
 
+    private static final int MAX_FEED_LIMIT = 100;
+
     @Autowired
     private PostRepository postRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private LikeRepository likeRepository;
-    @Autowired
-    private CommentRepository commentRepository;
+    private UserIdentityCache userIdentityCache;
+    // Present only when likes.buffer.enabled=true
+    @Autowired(required = false)
+    private LikeBuffer likeBuffer;
 
     public PostResponse createPost(CreatePostRequest request, String email) {
-        // 1. Find the user by email from the JWT token
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User no found"));
+        // 1. Resolve the user id/name from the JWT email (cached, no full user load)
+        UserIdentity user = userIdentityCache.resolve(email);
 
         // 2. Create a new Post object and fill it with data
         Post post = new Post();
         post.setContent(request.getContent());
-        post.setAuthor(user);
+        post.setAuthor(userRepository.getReferenceById(user.id()));
 
         // 3. Save to database — Spring generates the ID and timestamps automatically
         // We need to use saved not post when building the response — otherwise id and createdAt would be null!
@@ -47,32 +49,50 @@ public class PostService {
         response.setId(saved.getId());
         response.setContent(saved.getContent());
         response.setCreatedAt(saved.getCreatedAt());
-        response.setAuthorId(saved.getAuthor().getId());
-        response.setAuthorName(saved.getAuthor().getName());
-        response.setLikeCount(likeRepository.countByPostId(saved.getId()));
+        response.setAuthorId(user.id());
+        response.setAuthorName(user.name());
+        response.setLikeCount(0); // just inserted, nothing to count
         response.setCommentCount(0);
         return response;
     }
     public List<PostResponse> getAllPosts(int page, int size) {
-        // 1. Fetch all posts ordered by newest first
+        // Author and like/comment counts come back in the same query
         Pageable pageable = PageRequest.of(page, size);
-        List<Post> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable).getContent();
-        List<PostResponse> postResponses = new ArrayList<>();
+        return withPendingLikes(postRepository.findFeed(pageable));
+    }
+
+    /**
+     * Cursor-based feed. {@code before} is the opaque cursor returned with the
+     * previous slice (null for the newest posts). No total count is computed.
+     */
+    public CursorPage<PostResponse> getFeed(String before, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_FEED_LIMIT)));
+
+        Slice<PostResponse> slice;
+        if (before == null || before.isBlank()) {
+            slice = postRepository.findFeedSlice(pageable);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(before);
+            slice = postRepository.findFeedBefore(cursor.createdAt(), cursor.id(), pageable);
+        }
+
+        List<PostResponse> posts = withPendingLikes(slice.getContent());
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            PostResponse last = posts.get(posts.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(posts, nextCursor, slice.hasNext());
+    }
 
-        // 2. Loop through each post and convert to PostResponse DTO
-        for (Post post : posts) {
-            PostResponse response = new PostResponse();
-            response.setId( post.getId());
-            response.setContent(post.getContent());
-            response.setCreatedAt(post.getCreatedAt());
-            response.setAuthorId(post.getAuthor().getId());
-            response.setAuthorName(post.getAuthor().getName());
-            response.setLikeCount(likeRepository.countByPostId(post.getId()));
-            response.setCommentCount(commentRepository.countByPostId(post.getId()));
-            postResponses.add(response);
+    // Adds likes still sitting in the write-behind buffer so users see their own clicks
+    private List<PostResponse> withPendingLikes(List<PostResponse> posts) {
+        if (likeBuffer != null) {
+            for (PostResponse post : posts) {
+                post.setLikeCount(post.getLikeCount() + likeBuffer.pendingDelta(post.getId()));
+            }
         }
-        // 3. Return the full list to the controller
-        return postResponses;
+        return posts;
     }
     public void deletePostById(Long id, String email) {
         Post post = postRepository.findById(id).orElseThrow(() -> new RuntimeException("Post not found"));
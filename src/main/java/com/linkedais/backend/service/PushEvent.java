@@ -0,0 +1,12 @@
+package com.linkedais.backend.service;
+
+/**
+ * Something to deliver to a connected user over the push stream.
+ * Published as a Spring event and forwarded by {@link PushHub} after the
+ * publishing transaction commits.
+ *
+ * @param userId recipient
+ * @param type SSE event name ("message", "notification")
+ * @param payload serialized as JSON
+ */
+public record PushEvent(Long userId, String type, Object payload) {}
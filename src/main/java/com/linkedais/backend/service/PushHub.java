@@ -0,0 +1,172 @@
+package com.linkedais.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of {@link PushEvent}s to Server-Sent Event streams.
+ *
+ * An idle stream is just an SseEmitter in this map: the servlet request is
+ * async, so no thread is parked per connection and tens of thousands of idle
+ * clients cost only memory. Writes happen on a small bounded pool, so a slow
+ * client never blocks the thread that committed the message; when the pool
+ * queue is full the publisher writes itself (backpressure). Heartbeats are
+ * the exception: they go out in batches and are skipped while the queue is
+ * full, so they never run on the shared scheduling thread.
+ *
+ * Single-node only: a user connected to another instance does not get the
+ * event and falls back to reloading.
+ */
+@Component
+public class PushHub {
+
+    private static final Logger log = LoggerFactory.getLogger(PushHub.class);
+
+    // Streams pinged by one sender task
+    static final int HEARTBEAT_BATCH = 500;
+
+    private final Map<Long, List<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Executor sender;
+    private final long timeoutMs;
+
+    @Autowired
+    public PushHub(@Value("${push.sse.timeout-ms:1800000}") long timeoutMs,
+                   @Value("${push.sender-threads:4}") int senderThreads,
+                   @Value("${push.sender-queue:10000}") int senderQueue) {
+        this(new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderQueue), new ThreadPoolExecutor.CallerRunsPolicy()), timeoutMs);
+    }
+
+    public PushHub(Executor sender, long timeoutMs) {
+        this.sender = sender;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Opens a stream for the user. The emitter removes itself when the client
+     * disconnects or the timeout elapses (clients reconnect automatically).
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(userId, emitter);
+        return emitter;
+    }
+
+    public void register(Long userId, SseEmitter emitter) {
+        // Added inside compute so a concurrent unregister cannot drop the list under us
+        streams.compute(userId, (id, list) -> {
+            List<SseEmitter> emitters = list != null ? list : new CopyOnWriteArrayList<>();
+            emitters.add(emitter);
+            return emitters;
+        });
+        connections.incrementAndGet();
+        Runnable remove = () -> unregister(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, list) -> {
+            if (list.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    // Delivered only once the message/notification is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPushEvent(PushEvent event) {
+        publish(event.userId(), event.type(), event.payload());
+    }
+
+    public void publish(Long userId, String type, Object payload) {
+        List<SseEmitter> emitters = streams.get(userId);
+        if (emitters == null) {
+            return; // not connected here
+        }
+        for (SseEmitter emitter : emitters) {
+            sender.execute(() -> send(userId, emitter, SseEmitter.event().name(type).data(payload)));
+        }
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Comment line to every stream: keeps proxies from closing idle
+     * connections and flushes out clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${push.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        List<Ping> batch = new ArrayList<>(HEARTBEAT_BATCH);
+        for (Map.Entry<Long, List<SseEmitter>> entry : streams.entrySet()) {
+            for (SseEmitter emitter : entry.getValue()) {
+                batch.add(new Ping(entry.getKey(), emitter));
+                if (batch.size() == HEARTBEAT_BATCH) {
+                    if (!submitPings(batch)) {
+                        return;
+                    }
+                    batch = new ArrayList<>(HEARTBEAT_BATCH);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            submitPings(batch);
+        }
+    }
+
+    private record Ping(Long userId, SseEmitter emitter) {}
+
+    // A missed ping is harmless (the next one follows), so a busy pool skips the rest of this round
+    private boolean submitPings(List<Ping> batch) {
+        if (sender instanceof ThreadPoolExecutor pool && pool.getQueue().remainingCapacity() == 0) {
+            log.debug("Push sender queue full, skipping heartbeat for the remaining streams");
+            return false;
+        }
+        sender.execute(() -> batch.forEach(ping ->
+                send(ping.userId(), ping.emitter(), SseEmitter.event().comment("ping"))));
+        return true;
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping push stream of user {}: {}", userId, e.getMessage());
+            unregister(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+}
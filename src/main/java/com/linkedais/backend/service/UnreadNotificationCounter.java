@@ -0,0 +1,56 @@
+package com.linkedais.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedais.backend.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-user unread notification count for the UI badge.
+ *
+ * A count is loaded with one COUNT query on first use and from then on
+ * adjusted in memory by {@link Changed} events, which NotificationService
+ * publishes when notifications are created or read. Events are applied
+ * after commit and only to users already in the cache; a user who is not
+ * cached gets a fresh count on the next read. Entries expire after
+ * notifications.unread-cache.ttl-seconds, so any drift (e.g. a count loaded
+ * while an adjustment was being committed) is short-lived.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    /** Unread count of a user changed by delta (positive on create, negative on read). */
+    public record Changed(Long userId, long delta) {}
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, Long> cache;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${notifications.unread-cache.max-size:100000}") long maxSize,
+                                     @Value("${notifications.unread-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public long get(Long userId) {
+        return cache.get(userId, notificationRepository::countByUserIdAndReadFalse);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(Changed change) {
+        cache.asMap().computeIfPresent(change.userId(), (id, count) -> Math.max(0, count + change.delta()));
+    }
+
+    public Map<String, Object> stats() {
+        return CacheMetrics.snapshot(cache);
+    }
+}
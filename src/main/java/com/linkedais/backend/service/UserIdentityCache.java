@@ -0,0 +1,56 @@
+package com.linkedais.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkedais.backend.dto.UserIdentity;
+import com.linkedais.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bounded, TTL-evicting cache of email -> {@link UserIdentity}.
+ *
+ * Most endpoints only need the current user's id, so this saves the
+ * findByEmail round trip (and its skills/courses collections) per request.
+ * UserService invalidates entries when a profile changes.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${users.identity-cache.max-size:10000}") long maxSize,
+                             @Value("${users.identity-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @throws RuntimeException "User not found" if no user has this email
+     */
+    public UserIdentity resolve(String email) {
+        // A null result is not cached, so a later registration is picked up
+        UserIdentity identity = cache.get(email, key -> userRepository.findIdentityByEmail(key).orElse(null));
+        if (identity == null) {
+            throw new RuntimeException("User not found");
+        }
+        return identity;
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    public Map<String, Object> stats() {
+        return CacheMetrics.snapshot(cache);
+    }
+}
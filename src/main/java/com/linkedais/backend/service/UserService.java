@@ -1,11 +1,14 @@
 package com.linkedais.backend.service;
 
 import com.linkedais.backend.dto.UpdateProfileRequest;
+import com.linkedais.backend.dto.UserIdentity;
 import com.linkedais.backend.dto.UserProfileDTO;
 import com.linkedais.backend.dto.UserSearchResponse;
 import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.UserRepository;
+import com.linkedais.backend.security.TokenRevocations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,18 +16,25 @@ import java.util.stream.Collectors;
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final TokenRevocations tokenRevocations;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserIdentityCache userIdentityCache,
+                       TokenRevocations tokenRevocations) {
         this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.tokenRevocations = tokenRevocations;
     }
 
+    @Transactional(readOnly = true)
     public UserProfileDTO getPublicProfile(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        User user = userRepository.findProfileById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         return toProfileDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public com.linkedais.backend.dto.AcademicDashboardDTO getAcademicDashboard(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        User user = userRepository.findAcademicById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         return new com.linkedais.backend.dto.AcademicDashboardDTO(
                 user.getCourses() != null ? user.getCourses().stream()
                         .map(c -> new com.linkedais.backend.dto.CourseDTO(c.getId(), c.getName(), c.getInstructor()))
@@ -36,8 +46,8 @@ public class UserService {
     }
 
     public List<UserSearchResponse> searchUsers(String query, String currentUserEmail) {
-        User currentUser = findByEmail(currentUserEmail);
-        List<User> results = userRepository.searchByName(query, currentUser.getId());
+        Long currentUserId = userIdentityCache.resolve(currentUserEmail).id();
+        List<User> results = userRepository.searchByName(query, currentUserId);
 
         return results.stream()
                 .limit(20)
@@ -45,13 +55,15 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public UserProfileDTO getMyProfile(String email) {
-        User user = findByEmail(email);
+        User user = findProfileByEmail(email);
         return toProfileDTO(user);
     }
 
+    @Transactional
     public UserProfileDTO updateProfile(String email, UpdateProfileRequest request) {
-        User user = findByEmail(email);
+        User user = findProfileByEmail(email);
 
         user.setName(request.getName());
         user.setBio(request.getBio());
@@ -62,6 +74,7 @@ public class UserService {
         }
 
         User updated = userRepository.save(user);
+        userIdentityCache.invalidate(email);
         return toProfileDTO(updated);
     }
 
@@ -71,7 +84,16 @@ public class UserService {
             throw new IllegalArgumentException("Name cannot be empty");
         }
 
-        return userRepository.save(user);
+        // Tokens carry the role: if it changes, the user's existing tokens are revoked
+        String previousRole = userRepository.findIdentityByEmail(user.getEmail())
+                .map(UserIdentity::role)
+                .orElse(null);
+        User saved = userRepository.save(user);
+        userIdentityCache.invalidate(saved.getEmail());
+        if (previousRole != null && !previousRole.equals(saved.getRole())) {
+            tokenRevocations.revokeAll(saved.getId());
+        }
+        return saved;
     }
 
     public User findByEmail(String email) {
@@ -79,6 +101,12 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
 
+    private User findProfileByEmail(String email) {
+        return userRepository.findProfileByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
+    }
+
+    // Skills come with the User.profile graph, courses with one more select (needs the transaction)
     private UserProfileDTO toProfileDTO(User user) {
         return new UserProfileDTO(
                 user.getId(),
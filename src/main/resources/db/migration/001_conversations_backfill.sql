@@ -0,0 +1,23 @@
+-- Fills the conversations summary table from existing messages (PostgreSQL).
+-- The table itself is created by Hibernate (ddl-auto=update); run this once
+-- after deploying it. Unread counters start at 0, i.e. everything up to the
+-- last message counts as read. Snippets follow MessageService.snippet: up to
+-- 120 characters as is, longer ones cut to 119 plus "…".
+INSERT INTO conversations (user_low_id, user_high_id, last_message_id, last_message_snippet,
+                           last_message_at, last_sender_id, unread_low, unread_high,
+                           read_up_to_low, read_up_to_high)
+SELECT DISTINCT ON (LEAST(m.sender_id, m.receiver_id), GREATEST(m.sender_id, m.receiver_id))
+       LEAST(m.sender_id, m.receiver_id),
+       GREATEST(m.sender_id, m.receiver_id),
+       m.id,
+       CASE WHEN CHAR_LENGTH(m.content) <= 120 THEN m.content ELSE LEFT(m.content, 119) || '…' END,
+       m.created_at,
+       m.sender_id,
+       0,
+       0,
+       m.id,
+       m.id
+FROM messages m
+WHERE m.deleted = false
+ORDER BY LEAST(m.sender_id, m.receiver_id), GREATEST(m.sender_id, m.receiver_id), m.created_at DESC, m.id DESC
+ON CONFLICT (user_low_id, user_high_id) DO NOTHING;
@@ -0,0 +1,5 @@
+-- Notification ids move from IDENTITY to the notifications_seq sequence (PostgreSQL).
+-- Run once on databases created before this change; allocationSize is 50.
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY 50;
+SELECT setval('notifications_seq', COALESCE((SELECT MAX(id) FROM notifications), 0) + 50);
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
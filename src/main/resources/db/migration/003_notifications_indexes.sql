@@ -0,0 +1,12 @@
+-- Partial indexes on notifications (PostgreSQL). Hibernate cannot declare
+-- them, so run this once; CONCURRENTLY avoids locking the table.
+
+-- Unread badge count, unread list and bulk mark-as-read touch only unread rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id, created_at DESC, id DESC)
+    WHERE is_read = false;
+
+-- Retention job (NotificationRetentionJob): old read notifications
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_read_created
+    ON notifications (created_at)
+    WHERE is_read = true;
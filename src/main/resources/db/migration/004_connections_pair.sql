@@ -0,0 +1,26 @@
+-- One connections row per unordered user pair (PostgreSQL). Run once, before
+-- deploying: ddl-auto=update cannot add the NOT NULL pair columns to a table
+-- that already has rows.
+ALTER TABLE connections ADD COLUMN IF NOT EXISTS user_low_id BIGINT;
+ALTER TABLE connections ADD COLUMN IF NOT EXISTS user_high_id BIGINT;
+
+UPDATE connections
+SET user_low_id = LEAST(user_id, receiver_id),
+    user_high_id = GREATEST(user_id, receiver_id)
+WHERE user_low_id IS NULL;
+
+-- Pairs with a row in each direction keep one: accepted first, then pending, then the newest
+DELETE FROM connections c
+USING (SELECT id,
+              ROW_NUMBER() OVER (PARTITION BY user_low_id, user_high_id
+                                 ORDER BY CASE status WHEN 'ACCEPTED' THEN 0 WHEN 'PENDING' THEN 1 ELSE 2 END,
+                                          created_at DESC, id DESC) AS rn
+       FROM connections) ranked
+WHERE c.id = ranked.id AND ranked.rn > 1;
+
+ALTER TABLE connections ALTER COLUMN user_low_id SET NOT NULL;
+ALTER TABLE connections ALTER COLUMN user_high_id SET NOT NULL;
+ALTER TABLE connections ADD CONSTRAINT uk_connections_pair UNIQUE (user_low_id, user_high_id);
+
+CREATE INDEX IF NOT EXISTS idx_connections_low_status ON connections (user_low_id, status, user_high_id);
+CREATE INDEX IF NOT EXISTS idx_connections_high_status ON connections (user_high_id, status, user_low_id);
@@ -0,0 +1,8 @@
+-- Read marks for conversations created before read_up_to_low/high existed
+-- (PostgreSQL). Hibernate adds the columns; run this once afterwards. Where
+-- a side has nothing unread, everything up to the last message was read.
+UPDATE conversations SET read_up_to_low = last_message_id
+WHERE read_up_to_low IS NULL AND unread_low = 0;
+
+UPDATE conversations SET read_up_to_high = last_message_id
+WHERE read_up_to_high IS NULL AND unread_high = 0;
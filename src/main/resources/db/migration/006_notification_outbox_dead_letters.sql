@@ -0,0 +1,24 @@
+-- Moves parked outbox events (next_attempt_at IS NULL) into notification_outbox_dead
+-- (PostgreSQL). Parked rows used to keep the (type, subject_id) key, so later
+-- events about the same subject were coalesced into them and never dispatched.
+-- Run once after deploying; ddl-auto=update creates the new table.
+CREATE TABLE IF NOT EXISTS notification_outbox_dead (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP(6),
+    parked_at TIMESTAMP(6) NOT NULL
+);
+
+WITH parked AS (
+    DELETE FROM notification_outbox
+    WHERE next_attempt_at IS NULL
+    RETURNING type, subject_id, attempts, last_error, created_at
+)
+INSERT INTO notification_outbox_dead (type, subject_id, attempts, last_error, created_at, parked_at)
+SELECT type, subject_id, attempts, last_error, created_at, NOW()
+FROM parked;
+
+ALTER TABLE notification_outbox ALTER COLUMN next_attempt_at SET NOT NULL;
@@ -0,0 +1,79 @@
+package com.linkedais.backend.repository;
+
+import com.linkedais.backend.model.Conversation;
+import com.linkedais.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ConversationRepositoryTest {
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long low;
+    private Long high;
+
+    @BeforeEach
+    void setUp() {
+        User a = entityManager.persist(new User("jonas@test.lt", "x", "Jonas"));
+        User b = entityManager.persist(new User("ona@test.lt", "x", "Ona"));
+        low = Math.min(a.getId(), b.getId());
+        high = Math.max(a.getId(), b.getId());
+        entityManager.persist(a.getId().equals(low) ? new Conversation(a, b) : new Conversation(b, a));
+        entityManager.flush();
+    }
+
+    // high -> low žinutė: low gavėjas
+    private void receiveByLow(long messageId) {
+        conversationRepository.recordMessage(low, high, messageId, "Labas", LocalDateTime.now(), high, 1, 0);
+    }
+
+    private Conversation reload() {
+        entityManager.clear();
+        return conversationRepository.findByUserLowIdAndUserHighId(low, high).orElseThrow();
+    }
+
+    @Test
+    void retractUnread_unreadMessage_decrementsReceiverCounter() {
+        receiveByLow(10L);
+        receiveByLow(11L);
+
+        conversationRepository.retractUnread(low, high, low, 11L);
+
+        Conversation c = reload();
+        assertEquals(1, c.getUnreadLow());
+        assertEquals(0, c.getUnreadHigh());
+    }
+
+    // Jau perskaityta žinutė neturi mažinti naujesnių neperskaitytų skaičiaus
+    @Test
+    void retractUnread_alreadyReadMessage_keepsCounter() {
+        receiveByLow(10L);
+        conversationRepository.markRead(low, high, low);
+        receiveByLow(11L);
+
+        conversationRepository.retractUnread(low, high, low, 10L);
+
+        Conversation c = reload();
+        assertEquals(1, c.getUnreadLow());
+        assertEquals(10L, c.getReadUpToLow());
+    }
+
+    @Test
+    void retractUnread_neverBelowZero() {
+        conversationRepository.retractUnread(low, high, low, 10L);
+
+        assertEquals(0, reload().getUnreadLow());
+    }
+}
@@ -0,0 +1,74 @@
+package com.linkedais.backend.repository;
+
+import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class NotificationRepositoryTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(new User("jonas@test.lt", "x", "Jonas"));
+    }
+
+    private Notification notification(LocalDateTime createdAt) {
+        Notification n = new Notification();
+        n.setUser(owner);
+        n.setType("CONNECTION_REQUEST");
+        n.setMessage("Labas");
+        entityManager.persistAndFlush(n);
+        // @PrePersist nustato dabartinį laiką – perrašom
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Notification n SET n.createdAt = :createdAt WHERE n.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", n.getId())
+                .executeUpdate();
+        return n;
+    }
+
+    // Naujesnis pranešimas su mažesniu id (kitas pooled blokas) lieka neperskaitytas
+    @Test
+    void markReadUpTo_newerNotificationWithLowerId_staysUnread() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Notification unseen = notification(now);
+        Notification shown = notification(now.minusMinutes(1));
+        assertTrue(unseen.getId() < shown.getId());
+
+        int updated = notificationRepository.markReadUpTo(owner.getId(), now.minusMinutes(1), shown.getId());
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        assertTrue(notificationRepository.findById(shown.getId()).orElseThrow().isRead());
+        assertFalse(notificationRepository.findById(unseen.getId()).orElseThrow().isRead());
+    }
+
+    // Tas pats laikas – lemia id
+    @Test
+    void markReadUpTo_sameCreatedAt_comparesIds() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Notification older = notification(now);
+        Notification newer = notification(now);
+
+        assertEquals(1, notificationRepository.markReadUpTo(owner.getId(), now, older.getId()));
+        entityManager.clear();
+
+        assertFalse(notificationRepository.findById(newer.getId()).orElseThrow().isRead());
+    }
+}
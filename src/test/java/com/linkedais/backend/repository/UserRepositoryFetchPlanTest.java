@@ -0,0 +1,88 @@
+package com.linkedais.backend.repository;
+
+import com.linkedais.backend.model.Course;
+import com.linkedais.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepositoryFetchPlanTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Course databases = entityManager.persist(new Course("Duomenų bazės", "Kazlauskas"));
+        Course algorithms = entityManager.persist(new Course("Algoritmai", "Petraitis"));
+        User user = new User();
+        user.setEmail("jonas@test.lt");
+        user.setPassword("x");
+        user.setName("Jonas Jonaitis");
+        user.setSkills(List.of("Java", "SQL", "Docker"));
+        user.setCourses(Set.of(databases, algorithms));
+        user.setCompletedCourseIds(List.of(databases.getId(), algorithms.getId()));
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Paprastas findByEmail (prisijungimas, autorius, siuntėjas) – tik users eilutė
+    @Test
+    void findByEmail_doesNotLoadCollections() {
+        User user = userRepository.findByEmail("jonas@test.lt").orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(user.getSkills()));
+        assertFalse(Hibernate.isInitialized(user.getCourses()));
+    }
+
+    // Profilis: skills su users eilute, courses – atskira užklausa (ne skills x courses eilučių)
+    @Test
+    void findProfileByEmail_loadsSkillsWithoutMultiplyingRows() {
+        User user = userRepository.findProfileByEmail("jonas@test.lt").orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(Hibernate.isInitialized(user.getSkills()));
+        assertFalse(Hibernate.isInitialized(user.getCourses()));
+        assertEquals(List.of("Docker", "Java", "SQL"), user.getSkills().stream().sorted().toList());
+
+        assertEquals(2, user.getCourses().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAcademicByEmail_loadsCoursesThenCompletedCourses() {
+        User user = userRepository.findAcademicByEmail("jonas@test.lt").orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, user.getCourses().size());
+        assertFalse(Hibernate.isInitialized(user.getSkills()));
+
+        assertEquals(2, user.getCompletedCourseIds().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
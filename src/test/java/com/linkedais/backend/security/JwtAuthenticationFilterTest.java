@@ -0,0 +1,96 @@
+package com.linkedais.backend.security;
+
+import com.linkedais.backend.repository.UserRepository;
+import com.linkedais.backend.service.UserIdentityCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test_secret_key_with_at_least_32_characters";
+
+    @Mock private UserRepository userRepository;
+    @Mock private UserIdentityCache userIdentityCache;
+
+    private JwtUtil jwtUtil;
+    private TokenRevocations tokenRevocations;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60_000, "k1", "");
+        tokenRevocations = new TokenRevocations(userRepository, 100, 60);
+        filter = newFilter();
+        lenient().when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Naujas filtras = tuščias token cache (kaip kitas serverio egzempliorius)
+    private JwtAuthenticationFilter newFilter() {
+        return new JwtAuthenticationFilter(jwtUtil, userIdentityCache,
+                new TokenAuthenticationCache(tokenRevocations, 100, 600), tokenRevocations);
+    }
+
+    private String token(int version) {
+        return jwtUtil.generateToken("jonas@test.lt", Map.of("uid", 1L, "role", "USER", "ver", version));
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void validToken_isAuthenticated() throws Exception {
+        Authentication auth = authenticate(filter, token(0));
+
+        assertNotNull(auth);
+        assertEquals("jonas@test.lt", auth.getName());
+    }
+
+    @Test
+    void revokedToken_rejectedEvenWhenCached() throws Exception {
+        String token = token(0);
+        assertNotNull(authenticate(filter, token)); // dabar token'as cache'e
+
+        tokenRevocations.revokeAll(1L);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1));
+
+        // Cache hit – vis tiek atmestas
+        assertNull(authenticate(filter, token));
+        // Cache miss (kitas filtras) – irgi atmestas
+        assertNull(authenticate(newFilter(), token));
+        verify(userRepository).incrementTokenVersion(1L);
+    }
+
+    @Test
+    void tokenIssuedAfterRevocation_isAccepted() throws Exception {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1));
+
+        assertNull(authenticate(filter, token(0)));
+        assertNotNull(authenticate(filter, token(1)));
+    }
+}
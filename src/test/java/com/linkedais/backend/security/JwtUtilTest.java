@@ -0,0 +1,59 @@
+package com.linkedais.backend.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "old_secret_key_with_at_least_32_characters";
+    private static final String NEW_SECRET = "new_secret_key_with_at_least_32_characters";
+
+    @Test
+    void validate_tokenFromCurrentKey_returnsClaims() {
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, 60_000, "k2", "");
+
+        String token = jwtUtil.generateToken("jonas@test.lt", Map.of("uid", 1L));
+
+        var jws = jwtUtil.validate(token);
+        assertEquals("k2", jws.getHeader().getKeyId());
+        assertEquals("jonas@test.lt", jws.getPayload().getSubject());
+    }
+
+    @Test
+    void validate_tokenFromRetiredKey_stillAccepted() {
+        // Raktas pasuktas: k1 tapo senu, k2 – dabartinis
+        String oldToken = new JwtUtil(OLD_SECRET, 60_000, "k1", "")
+                .generateToken("jonas@test.lt", Map.of());
+        JwtUtil rotated = new JwtUtil(NEW_SECRET, 60_000, "k2", "k1=" + OLD_SECRET);
+
+        assertEquals("jonas@test.lt", rotated.validate(oldToken).getPayload().getSubject());
+    }
+
+    @Test
+    void validate_tokenWithoutKid_usesCurrentKey() {
+        String legacyToken = Jwts.builder()
+                .subject("jonas@test.lt")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(NEW_SECRET.getBytes()))
+                .compact();
+
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, 60_000, "k2", "");
+
+        assertEquals("jonas@test.lt", jwtUtil.validate(legacyToken).getPayload().getSubject());
+    }
+
+    @Test
+    void validate_unknownKid_throwsException() {
+        String token = new JwtUtil(OLD_SECRET, 60_000, "k1", "").generateToken("jonas@test.lt", Map.of());
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, 60_000, "k2", "");
+
+        assertThrows(UnsupportedJwtException.class, () -> jwtUtil.validate(token));
+    }
+}
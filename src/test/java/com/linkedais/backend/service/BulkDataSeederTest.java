@@ -0,0 +1,43 @@
+package com.linkedais.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Atskiras kontekstas (savo DB): ALTER TABLE H2 duomenų bazėje iškart commit'ina
+@DataJpaTest(properties = "spring.datasource.name=bulk-seeder")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkDataSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final BulkDataSeeder.Volumes TINY = new BulkDataSeeder.Volumes(
+            10, 20, 30, 10, 10, 10, 5, 20, 1.0);
+
+    // Identity seka lenkia MAX(id) (ištrinta eilutė) – seeded id vis tiek sutampa su grąžintais
+    @Test
+    void seed_identityAheadOfMaxId_usesReturnedIds() {
+        jdbcTemplate.update("INSERT INTO users (email, password, name, role, token_version) VALUES ('trintas@test.lt', 'x', 'Trintas', 'USER', 0)");
+        jdbcTemplate.update("DELETE FROM users WHERE email = 'trintas@test.lt'");
+
+        BulkDataSeeder.Result result = new BulkDataSeeder(jdbcTemplate, "{noop}x", 4, 2).seed(TINY, 42);
+
+        assertEquals("seed" + result.firstUserId() + "@linkedais.lt", jdbcTemplate.queryForObject(
+                "SELECT email FROM users WHERE id = ?", String.class, result.firstUserId()));
+        assertEquals("Įrašas nr. " + result.firstPostId(), jdbcTemplate.queryForObject(
+                "SELECT content FROM posts WHERE id = ?", String.class, result.firstPostId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM posts p LEFT JOIN users u ON u.id = p.user_id WHERE u.id IS NULL", Integer.class));
+
+        // Programos įrašomos eilutės gauna id po seeded eilučių
+        jdbcTemplate.update("INSERT INTO users (email, password, name, role, token_version) VALUES ('naujas@test.lt', 'x', 'Naujas', 'USER', 0)");
+        assertEquals(result.firstUserId() + TINY.users(), jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'naujas@test.lt'", Long.class));
+    }
+}
@@ -4,6 +4,7 @@ import com.linkedais.backend.dto.CommentResponse;
 import com.linkedais.backend.dto.CreateCommentRequest;
 import com.linkedais.backend.dto.UpdateCommentRequest;
 import com.linkedais.backend.model.Comment;
+import com.linkedais.backend.model.OutboxEvent;
 import com.linkedais.backend.model.Post;
 import com.linkedais.backend.model.User;
 import com.linkedais.backend.repository.CommentRepository;
@@ -24,6 +25,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +35,7 @@ class CommentServiceTest {
     @Mock private CommentRepository commentRepository;
     @Mock private PostRepository postRepository;
     @Mock private UserRepository userRepository;
-    @Mock private NotificationService notificationService;
+    @Mock private NotificationOutbox notificationOutbox;
 
     @InjectMocks
     private CommentService commentService;
@@ -115,8 +118,11 @@ class CommentServiceTest {
 
         assertNotNull(result);
         assertEquals(testComment.getId(), result.getId());
-        verify(notificationService, times(1))
-                .createCommentNotifications(any(), any(), any());
+        // Pranešimai kuriami po commit'o – čia tik įrašomas outbox įvykis
+        verify(notificationOutbox, times(1))
+                .enqueue(OutboxEvent.COMMENT_CREATED, testComment.getId());
+        // Įrašo komentarų skaitiklis +1 atominiu UPDATE (ne COUNT)
+        verify(postRepository, times(1)).adjustCommentCount(10L, 1);
     }
 
     @Test
@@ -131,6 +137,7 @@ class CommentServiceTest {
 
         assertEquals("Post not found", ex.getMessage());
         verify(commentRepository, never()).save(any());
+        verify(postRepository, never()).adjustCommentCount(anyLong(), anyInt());
     }
 
     @Test
@@ -236,6 +243,7 @@ class CommentServiceTest {
                 commentService.deleteComment(10L, 100L, "jonas@test.lt"));
 
         verify(commentRepository, times(1)).delete(testComment);
+        verify(postRepository, times(1)).adjustCommentCount(10L, -1);
     }
 
     @Test
@@ -247,6 +255,7 @@ class CommentServiceTest {
 
         assertEquals("Comment not found", ex.getMessage());
         verify(commentRepository, never()).delete(any());
+        verify(postRepository, never()).adjustCommentCount(anyLong(), anyInt());
     }
 
     @Test
@@ -258,6 +267,7 @@ class CommentServiceTest {
 
         assertEquals("Forbidden", ex.getMessage());
         verify(commentRepository, never()).delete(any());
+        verify(postRepository, never()).adjustCommentCount(anyLong(), anyInt());
     }
 
     @Test
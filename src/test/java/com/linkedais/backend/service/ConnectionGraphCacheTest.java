@@ -0,0 +1,77 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.ConnectionEdge;
+import com.linkedais.backend.repository.ConnectionRepository;
+import enums.ConnectionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionGraphCacheTest {
+
+    @Mock private ConnectionRepository connectionRepository;
+
+    private ConnectionGraphCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConnectionGraphCache(connectionRepository, 100, 600);
+    }
+
+    @Test
+    void get_splitsSentAndReceivedSortedByPeer() {
+        when(connectionRepository.findEdgesOf(1L)).thenReturn(List.of(
+                new ConnectionEdge(10L, 1L, 5L, ConnectionStatus.ACCEPTED),
+                new ConnectionEdge(11L, 3L, 1L, ConnectionStatus.PENDING),
+                new ConnectionEdge(12L, 1L, 2L, ConnectionStatus.PENDING)));
+
+        ConnectionGraphCache.Adjacency adjacency = cache.get(1L);
+
+        assertArrayEquals(new long[]{2, 5}, adjacency.sent().peers());
+        assertArrayEquals(new long[]{12, 10}, adjacency.sent().connectionIds());
+        assertEquals(ConnectionStatus.ACCEPTED, adjacency.sent().statusOf(5));
+        assertArrayEquals(new long[]{3}, adjacency.received().peers());
+        assertEquals(ConnectionStatus.PENDING, adjacency.received().statusOf(3));
+        assertNull(adjacency.received().statusOf(5));
+    }
+
+    // Pasikartojanti pora – laimi naujausias (didžiausias id) ryšys
+    @Test
+    void get_duplicatePair_newestConnectionWins() {
+        when(connectionRepository.findEdgesOf(1L)).thenReturn(List.of(
+                new ConnectionEdge(20L, 1L, 2L, ConnectionStatus.ACCEPTED),
+                new ConnectionEdge(7L, 1L, 2L, ConnectionStatus.REJECTED)));
+
+        ConnectionGraphCache.Edges sent = cache.get(1L).sent();
+
+        assertEquals(1, sent.size());
+        assertEquals(20L, sent.connectionIds()[0]);
+        assertEquals(ConnectionStatus.ACCEPTED, sent.statusOf(2));
+    }
+
+    @Test
+    void changed_invalidatesBothUsers() {
+        when(connectionRepository.findEdgesOf(anyLong())).thenReturn(List.of());
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+        cache.get(1L); // iš cache
+
+        cache.onChanged(new ConnectionGraphCache.Changed(1L, 2L, ConnectionStatus.ACCEPTED));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        verify(connectionRepository, times(2)).findEdgesOf(1L);
+        verify(connectionRepository, times(2)).findEdgesOf(2L);
+        verify(connectionRepository, times(1)).findEdgesOf(3L);
+    }
+}
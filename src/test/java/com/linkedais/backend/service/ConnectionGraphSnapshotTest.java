@@ -0,0 +1,147 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.ConnectionEdge;
+import com.linkedais.backend.repository.ConnectionRepository;
+import enums.ConnectionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionGraphSnapshotTest {
+
+    @Mock private ConnectionRepository connectionRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private ConnectionGraphSnapshot snapshot;
+    private long nextEdgeId;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new ConnectionGraphSnapshot(connectionRepository, transactionTemplate, 3_600_000);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.shutdown();
+    }
+
+    private ConnectionEdge edge(long sender, long receiver) {
+        return new ConnectionEdge(++nextEdgeId, sender, receiver, ConnectionStatus.ACCEPTED);
+    }
+
+    private void accepted(long a, long b) {
+        snapshot.onChanged(new ConnectionGraphCache.Changed(a, b, ConnectionStatus.ACCEPTED));
+    }
+
+    private void removed(long a, long b) {
+        snapshot.onChanged(new ConnectionGraphCache.Changed(a, b, ConnectionStatus.REJECTED));
+    }
+
+    private void buildFrom(ConnectionEdge... edges) {
+        when(connectionRepository.streamEdgesByStatus(ConnectionStatus.ACCEPTED)).thenReturn(Stream.of(edges));
+        snapshot.rebuild();
+    }
+
+    // Ta pati pora abiem kryptimis ar du kartus – viena briauna
+    @Test
+    void rebuild_sortsRowsAndDropsDuplicateEdges() {
+        buildFrom(edge(1, 3), edge(2, 1), edge(1, 2), edge(1, 2));
+
+        assertArrayEquals(new long[]{2, 3}, snapshot.neighbors(1));
+        assertArrayEquals(new long[]{1}, snapshot.neighbors(2));
+        assertArrayEquals(new long[]{1}, snapshot.neighbors(3));
+        assertArrayEquals(new long[0], snapshot.neighbors(9));
+    }
+
+    @Test
+    void overlay_appliedAtReadTimeAndFoldedWithoutDatabase() {
+        buildFrom(edge(1, 2), edge(1, 3), edge(4, 5));
+
+        accepted(2, 3);
+        removed(1, 3);
+        accepted(6, 1);
+        long[][] beforeFold = {snapshot.neighbors(1), snapshot.neighbors(2), snapshot.neighbors(3), snapshot.neighbors(6)};
+
+        snapshot.refresh(); // ne per sena – tik fold
+
+        assertArrayEquals(new long[]{2, 6}, snapshot.neighbors(1));
+        assertArrayEquals(new long[]{1, 3}, snapshot.neighbors(2));
+        assertArrayEquals(new long[]{2}, snapshot.neighbors(3));
+        assertArrayEquals(new long[]{1}, snapshot.neighbors(6));
+        assertArrayEquals(new long[]{5}, snapshot.neighbors(4));
+        assertArrayEquals(beforeFold, new long[][]{snapshot.neighbors(1), snapshot.neighbors(2),
+                snapshot.neighbors(3), snapshot.neighbors(6)});
+        verify(connectionRepository, times(1)).streamEdgesByStatus(ConnectionStatus.ACCEPTED);
+    }
+
+    // Naujesnis pakeitimas tai pačiai porai laimi
+    @Test
+    void overlay_newerChangeWins() {
+        buildFrom(edge(1, 2));
+
+        removed(1, 2);
+        accepted(2, 1);
+        snapshot.fold();
+        removed(2, 1);
+
+        assertArrayEquals(new long[0], snapshot.neighbors(1));
+        snapshot.fold();
+        assertArrayEquals(new long[0], snapshot.neighbors(1));
+        assertArrayEquals(new long[0], snapshot.neighbors(2));
+    }
+
+    // Pakeitimas, atėjęs kol skaitomos briaunos, neprarandamas
+    @Test
+    void rebuild_changeDuringRebuild_isKept() {
+        when(connectionRepository.streamEdgesByStatus(ConnectionStatus.ACCEPTED)).thenAnswer(inv -> {
+            accepted(5, 6);
+            return Stream.of(edge(1, 2));
+        });
+
+        snapshot.rebuild();
+
+        assertArrayEquals(new long[]{6}, snapshot.neighbors(5));
+        snapshot.fold();
+        assertArrayEquals(new long[]{6}, snapshot.neighbors(5));
+        assertArrayEquals(new long[]{2}, snapshot.neighbors(1));
+    }
+
+    // Fold turi duoti tą patį kaip pilnas perstatymas
+    @Test
+    void fold_matchesFullRebuild() {
+        buildFrom(edge(1, 2), edge(2, 3), edge(3, 4), edge(10, 11));
+        accepted(1, 4);
+        accepted(7, 2);
+        removed(2, 3);
+        removed(10, 11);
+        snapshot.fold();
+        long[][] folded = rows();
+
+        buildFrom(edge(1, 2), edge(3, 4), edge(1, 4), edge(7, 2));
+
+        assertTrue(Arrays.deepEquals(rows(), folded));
+    }
+
+    private long[][] rows() {
+        long[][] rows = new long[12][];
+        for (int user = 0; user < rows.length; user++) {
+            rows[user] = snapshot.neighbors(user);
+        }
+        return rows;
+    }
+}
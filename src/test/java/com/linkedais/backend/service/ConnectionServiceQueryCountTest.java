@@ -0,0 +1,87 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.ConnectionResponse;
+import com.linkedais.backend.model.Connection;
+import com.linkedais.backend.model.User;
+import enums.ConnectionStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ConnectionService.class, ConnectionGraphCache.class})
+class ConnectionServiceQueryCountTest {
+
+    @Autowired
+    private ConnectionService connectionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Sąrašams nereikalingi – pakeičiami mock'ais
+    @MockitoBean
+    private NotificationOutbox notificationOutbox;
+
+    @MockitoBean
+    private UserIdentityCache userIdentityCache;
+
+    private QueryCountFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new QueryCountFixture(entityManager, entityManagerFactory);
+    }
+
+    private User userWithConnections(int count, ConnectionStatus status) {
+        User me = fixture.user();
+        for (int i = 0; i < count; i++) {
+            Connection connection = new Connection();
+            connection.setSender(fixture.user());
+            connection.setReceiver(me);
+            connection.setStatus(status);
+            entityManager.persist(connection);
+        }
+        return me;
+    }
+
+    @Test
+    void getAcceptedConnections_statementCountDoesNotDependOnListSize() {
+        User few = userWithConnections(1, ConnectionStatus.ACCEPTED);
+        User many = userWithConnections(20, ConnectionStatus.ACCEPTED);
+
+        long fewStatements = fixture.statementsOf(() -> assertEquals(1, connectionService.getAcceptedConnections(few.getId()).size()));
+        long manyStatements = fixture.statementsOf(() -> assertEquals(20, connectionService.getAcceptedConnections(many.getId()).size()));
+
+        // Briaunos + vardai: dvi užklausos, nesvarbu kiek ryšių
+        assertEquals(2, fewStatements);
+        assertEquals(fewStatements, manyStatements);
+    }
+
+    @Test
+    void getPendingRequests_statementCountDoesNotDependOnListSize() {
+        User few = userWithConnections(1, ConnectionStatus.PENDING);
+        User many = userWithConnections(20, ConnectionStatus.PENDING);
+
+        long fewStatements = fixture.statementsOf(() -> assertEquals(1, connectionService.getPendingRequests(few.getId()).size()));
+        long manyStatements = fixture.statementsOf(() -> {
+            List<ConnectionResponse> pending = connectionService.getPendingRequests(many.getId());
+            assertEquals(20, pending.size());
+            assertEquals("PENDING", pending.get(0).getStatus());
+            assertNotNull(pending.get(0).getRequesterName());
+        });
+
+        assertEquals(fewStatements, manyStatements);
+    }
+}
@@ -0,0 +1,85 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.UserIdentity;
+import com.linkedais.backend.model.Connection;
+import com.linkedais.backend.model.OutboxEvent;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.ConnectionRepository;
+import enums.ConnectionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import({ConnectionService.class, ConnectionGraphCache.class})
+class ConnectionServiceTest {
+
+    @Autowired
+    private ConnectionService connectionService;
+
+    @Autowired
+    private ConnectionRepository connectionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private NotificationOutbox notificationOutbox;
+
+    @MockitoBean
+    private UserIdentityCache userIdentityCache;
+
+    private User jonas;
+    private User ona;
+
+    @BeforeEach
+    void setUp() {
+        jonas = entityManager.persist(new User("jonas@test.lt", "x", "Jonas"));
+        ona = entityManager.persist(new User("ona@test.lt", "x", "Ona"));
+        when(userIdentityCache.resolve("jonas@test.lt"))
+                .thenReturn(new UserIdentity(jonas.getId(), "jonas@test.lt", "Jonas", "USER"));
+    }
+
+    // Atmestas prašymas pakeičiamas nauja eilute – naujas id outbox įvykiui
+    @Test
+    void sendRequest_afterRejection_createsNewConnection() {
+        Connection rejected = new Connection();
+        rejected.setSender(ona);
+        rejected.setReceiver(jonas);
+        rejected.setStatus(ConnectionStatus.REJECTED);
+        Long rejectedId = entityManager.persistAndFlush(rejected).getId();
+
+        connectionService.sendRequest("jonas@test.lt", ona.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(connectionRepository.findById(rejectedId).isEmpty());
+        Connection request = connectionRepository.findPair(
+                Math.min(jonas.getId(), ona.getId()), Math.max(jonas.getId(), ona.getId())).orElseThrow();
+        assertNotEquals(rejectedId, request.getId());
+        assertEquals(ConnectionStatus.PENDING, request.getStatus());
+        assertEquals(jonas.getId(), request.getSender().getId());
+        verify(notificationOutbox).enqueue(OutboxEvent.CONNECTION_REQUEST, request.getId());
+    }
+
+    @Test
+    void sendRequest_pendingPair_throwsException() {
+        Connection pending = new Connection();
+        pending.setSender(ona);
+        pending.setReceiver(jonas);
+        pending.setStatus(ConnectionStatus.PENDING);
+        entityManager.persistAndFlush(pending);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> connectionService.sendRequest("jonas@test.lt", ona.getId()));
+        assertEquals("Request already sent", e.getMessage());
+        verifyNoInteractions(notificationOutbox);
+    }
+}
@@ -0,0 +1,87 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.dto.ConnectionSuggestion;
+import com.linkedais.backend.dto.SharedCourseCount;
+import com.linkedais.backend.dto.UserSearchResponse;
+import com.linkedais.backend.repository.UserRepository;
+import enums.ConnectionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionSuggestionServiceTest {
+
+    @Mock private ConnectionGraphSnapshot connectionGraphSnapshot;
+    @Mock private ConnectionGraphCache connectionGraphCache;
+    @Mock private UserRepository userRepository;
+
+    @InjectMocks
+    private ConnectionSuggestionService connectionSuggestionService;
+
+    private static ConnectionGraphCache.Edges edges(long... peers) {
+        return new ConnectionGraphCache.Edges(peers, peers.clone(), new ConnectionStatus[peers.length]);
+    }
+
+    // 1 draugai: 2 ir 3. Per juos: 4 (du bendri), 5 ir 6 (po vieną). 6 jau gavo prašymą.
+    @BeforeEach
+    void setUp() {
+        when(connectionGraphSnapshot.neighbors(1L)).thenReturn(new long[]{2, 3});
+        when(connectionGraphSnapshot.neighbors(2L)).thenReturn(new long[]{1, 4, 5});
+        when(connectionGraphSnapshot.neighbors(3L)).thenReturn(new long[]{1, 4, 6});
+        when(userRepository.findClassmates(eq(1L), any())).thenReturn(List.of(
+                new SharedCourseCount(5L, 2L),
+                new SharedCourseCount(8L, 1L),
+                new SharedCourseCount(7L, 1L)));
+        when(connectionGraphCache.get(1L)).thenReturn(
+                new ConnectionGraphCache.Adjacency(edges(2, 6), edges(3)));
+        when(userRepository.countSharedCourses(eq(1L), anyCollection())).thenReturn(List.of());
+        when(userRepository.findSearchResponsesByIdIn(anyCollection())).thenReturn(List.of(
+                new UserSearchResponse(1L, "Jonas", "IT"),
+                new UserSearchResponse(4L, "Ona", "Matematika"),
+                new UserSearchResponse(5L, "Petras", "IT"),
+                new UserSearchResponse(7L, "Rasa", "IT"),
+                new UserSearchResponse(8L, "Tomas", "IT")));
+    }
+
+    // Balas: 3 x bendri draugai + 2 x bendri kursai + 1 už tą pačią programą; lygūs – pagal id
+    @Test
+    void getSuggestions_rankedByWeightedSignals() {
+        List<ConnectionSuggestion> suggestions = connectionSuggestionService.getSuggestions(1L, 10);
+
+        assertEquals(List.of(5L, 4L, 7L, 8L), suggestions.stream().map(ConnectionSuggestion::userId).toList());
+        ConnectionSuggestion top = suggestions.get(0);
+        assertEquals(1, top.mutualConnections());
+        assertEquals(2, top.sharedCourses());
+        assertTrue(top.sameStudyProgram());
+        assertEquals(2, suggestions.get(1).mutualConnections());
+        assertFalse(suggestions.get(1).sameStudyProgram());
+    }
+
+    @Test
+    void getSuggestions_skipsExistingConnectionsAndRequests() {
+        List<Long> ids = connectionSuggestionService.getSuggestions(1L, 10).stream()
+                .map(ConnectionSuggestion::userId).toList();
+
+        assertFalse(ids.contains(1L));
+        assertFalse(ids.contains(2L));
+        assertFalse(ids.contains(3L));
+        assertFalse(ids.contains(6L));
+    }
+
+    @Test
+    void getSuggestions_limitKeepsTheBest() {
+        List<ConnectionSuggestion> suggestions = connectionSuggestionService.getSuggestions(1L, 2);
+
+        assertEquals(List.of(5L, 4L), suggestions.stream().map(ConnectionSuggestion::userId).toList());
+    }
+}
@@ -0,0 +1,236 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.repository.LikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeBufferTest {
+
+    private static final int LIKERS = 1000;
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private LikeRepository likeRepository;
+
+    private LikeBuffer likeBuffer;
+
+    @BeforeEach
+    void setUp() {
+        likeBuffer = new LikeBuffer(jdbcTemplate, transactionTemplate, likeRepository, 100_000);
+    }
+
+    // Kiekvienas batch įrašas paveikia vieną eilutę
+    private void batchRowsAffectOneRowEach() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            int[] counts = new int[inv.<List<?>>getArgument(1).size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+    }
+
+    private void batchAffectsOneRowEach() {
+        batchRowsAffectOneRowEach();
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void like_concurrentLikersOnOnePost_allCountedAndFlushedInOneBatch() throws Exception {
+        batchAffectsOneRowEach();
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= LIKERS; userId++) {
+            long liker = userId;
+            futures.add(pool.submit(() -> {
+                start.await();
+                likeBuffer.like(7L, liker);
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        pool.shutdown();
+
+        // Read-your-writes prieš flush
+        assertEquals(LIKERS, likeBuffer.pendingDelta(7L));
+        assertEquals(LIKERS, likeBuffer.pendingEntries());
+        assertTrue(elapsedMs < 5_000, "1k buffered likes took " + elapsedMs + " ms");
+
+        likeBuffer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO likes"), inserts.capture());
+        assertEquals(LIKERS, inserts.getValue().size());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> counters = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE posts"), counters.capture());
+        assertEquals(1, counters.getValue().size());
+        assertArrayEquals(new Object[]{LIKERS, 7L}, counters.getValue().get(0));
+
+        assertEquals(0, likeBuffer.pendingDelta(7L));
+        assertEquals(0, likeBuffer.pendingEntries());
+    }
+
+    @Test
+    void like_twiceBeforeFlush_throwsException() {
+        likeBuffer.like(7L, 1L);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> likeBuffer.like(7L, 1L));
+
+        assertEquals("Post already liked by this user", ex.getMessage());
+        assertEquals(1, likeBuffer.pendingDelta(7L));
+    }
+
+    @Test
+    void unlike_afterPendingLike_cancelsOutWithoutDatabaseWrite() {
+        likeBuffer.like(7L, 1L);
+        likeBuffer.unlike(7L, 1L);
+
+        assertEquals(0, likeBuffer.pendingDelta(7L));
+        assertEquals(0, likeBuffer.pendingEntries());
+
+        likeBuffer.flush();
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void flush_databaseFailure_requeuesToggles() {
+        doThrow(new RuntimeException("DB down")).when(transactionTemplate).executeWithoutResult(any());
+        likeBuffer.like(7L, 1L);
+
+        likeBuffer.flush();
+
+        assertEquals(1, likeBuffer.pendingEntries());
+        assertEquals(1, likeBuffer.pendingDelta(7L));
+    }
+
+    // Jau DB esantis like – antras like atmetamas kaip ir be buferio
+    @Test
+    void like_alreadyStoredLike_throwsException() {
+        when(likeRepository.existsByPostIdAndUserId(7L, 1L)).thenReturn(true);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> likeBuffer.like(7L, 1L));
+
+        assertEquals("Post already liked by this user", ex.getMessage());
+        assertEquals(0, likeBuffer.pendingDelta(7L));
+        assertEquals(0, likeBuffer.pendingEntries());
+    }
+
+    @Test
+    void unlike_likeThatDoesNotExist_changesNothing() {
+        likeBuffer.unlike(7L, 1L);
+
+        assertEquals(0, likeBuffer.pendingDelta(7L));
+        assertEquals(0, likeBuffer.pendingEntries());
+    }
+
+    @Test
+    void unlike_storedLike_countsMinusOne() {
+        when(likeRepository.existsByPostIdAndUserId(7L, 1L)).thenReturn(true);
+
+        likeBuffer.unlike(7L, 1L);
+
+        assertEquals(-1, likeBuffer.pendingDelta(7L));
+    }
+
+    // Prieš commit'ą batch'as jau išimtas iš pendingDelta – niekada neskaičiuojamas du kartus
+    @Test
+    void flush_batchLeavesPendingDeltaBeforeCommit() {
+        batchRowsAffectOneRowEach();
+        AtomicInteger deltaAtCommit = new AtomicInteger(-100);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            deltaAtCommit.set(likeBuffer.pendingDelta(7L)); // čia vyktų commit
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        likeBuffer.like(7L, 1L);
+
+        likeBuffer.flush();
+
+        assertEquals(0, deltaAtCommit.get());
+    }
+
+    // Unlike tarp write() ir commit'o: DB dar nemato like, todėl būsena imama iš batch'o
+    @Test
+    void unlike_betweenWriteAndCommit_isNotLost() {
+        batchRowsAffectOneRowEach();
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            likeBuffer.unlike(7L, 1L); // čia vyktų commit
+            return null;
+        }).doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        likeBuffer.like(7L, 1L);
+
+        likeBuffer.flush();
+
+        assertEquals(1, likeBuffer.pendingEntries());
+        assertEquals(-1, likeBuffer.pendingDelta(7L));
+        // Tik pirmas like klausė DB
+        verify(likeRepository, times(1)).existsByPostIdAndUserId(7L, 1L);
+
+        likeBuffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE FROM likes"), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && Arrays.equals(rows.get(0), new Object[]{7L, 1L})));
+        assertEquals(0, likeBuffer.pendingDelta(7L));
+    }
+
+    // Pilnas buferis flush'inamas fone, ne užklausos gijoje
+    @Test
+    void like_bufferFull_flushesOnBackgroundThread() throws Exception {
+        likeBuffer = new LikeBuffer(jdbcTemplate, transactionTemplate, likeRepository, 2);
+        batchRowsAffectOneRowEach();
+        AtomicReference<String> flushThread = new AtomicReference<>();
+        CountDownLatch flushed = new CountDownLatch(1);
+        doAnswer(inv -> {
+            flushThread.set(Thread.currentThread().getName());
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            flushed.countDown();
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        likeBuffer.like(7L, 1L);
+        likeBuffer.like(7L, 2L);
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread().getName(), flushThread.get());
+        assertEquals(0, likeBuffer.pendingEntries());
+    }
+}
@@ -0,0 +1,109 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Like;
+import com.linkedais.backend.model.Post;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.LikeRepository;
+import com.linkedais.backend.repository.PostRepository;
+import com.linkedais.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeServiceTest {
+
+    @Mock private LikeRepository likeRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private UserRepository userRepository;
+
+    @InjectMocks
+    private LikeService likeService;
+
+    @Test
+    void likePost_newLike_savesAndIncrementsCounter() {
+        when(likeRepository.existsByPostIdAndUserId(10L, 1L)).thenReturn(false);
+        when(postRepository.findById(10L)).thenReturn(Optional.of(new Post()));
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+
+        likeService.likePost(10L, 1L);
+
+        verify(likeRepository, times(1)).save(any(Like.class));
+        verify(postRepository, times(1)).adjustLikeCount(10L, 1);
+    }
+
+    @Test
+    void likePost_alreadyLiked_throwsAndKeepsCounter() {
+        when(likeRepository.existsByPostIdAndUserId(10L, 1L)).thenReturn(true);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> likeService.likePost(10L, 1L));
+
+        assertEquals("Post already liked by this user", ex.getMessage());
+        verify(postRepository, never()).adjustLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void likePost_postNotFound_throwsAndKeepsCounter() {
+        when(likeRepository.existsByPostIdAndUserId(99L, 1L)).thenReturn(false);
+        when(postRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> likeService.likePost(99L, 1L));
+
+        verify(likeRepository, never()).save(any());
+        verify(postRepository, never()).adjustLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void unlikePost_existingLike_decrementsCounter() {
+        when(likeRepository.deleteByPostIdAndUserId(10L, 1L)).thenReturn(1L);
+
+        likeService.unlikePost(10L, 1L);
+
+        verify(postRepository, times(1)).adjustLikeCount(10L, -1);
+    }
+
+    // Nebuvo ką ištrinti – skaitiklis neliečiamas
+    @Test
+    void unlikePost_noLike_keepsCounter() {
+        when(likeRepository.deleteByPostIdAndUserId(10L, 1L)).thenReturn(0L);
+
+        likeService.unlikePost(10L, 1L);
+
+        verify(postRepository, never()).adjustLikeCount(anyLong(), anyInt());
+    }
+
+    // Skaičius imamas iš posts.like_count, likes lentelė neskaičiuojama
+    @Test
+    void getLikeCount_readsCounterPlusPendingDelta() {
+        LikeBuffer likeBuffer = mock(LikeBuffer.class);
+        ReflectionTestUtils.setField(likeService, "likeBuffer", likeBuffer);
+        when(postRepository.findLikeCount(10L)).thenReturn(Optional.of(41));
+        when(likeBuffer.pendingDelta(10L)).thenReturn(1);
+
+        assertEquals(42, likeService.getLikeCount(10L));
+        verifyNoInteractions(likeRepository);
+    }
+
+    // Su buferiu skaitiklį atnaujina LikeBuffer flush'as, ne servisas
+    @Test
+    void likePost_buffered_delegatesWithoutTouchingCounter() {
+        LikeBuffer likeBuffer = mock(LikeBuffer.class);
+        ReflectionTestUtils.setField(likeService, "likeBuffer", likeBuffer);
+
+        likeService.likePost(10L, 1L);
+        likeService.unlikePost(10L, 1L);
+
+        verify(likeBuffer).like(10L, 1L);
+        verify(likeBuffer).unlike(10L, 1L);
+        verifyNoInteractions(likeRepository, postRepository);
+    }
+}
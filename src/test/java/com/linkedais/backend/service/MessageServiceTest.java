@@ -0,0 +1,111 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Message;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.ConversationRepository;
+import com.linkedais.backend.repository.MessageRepository;
+import com.linkedais.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageServiceTest {
+
+    @Mock private MessageRepository messageRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private ConversationRepository conversationRepository;
+    @Mock private EntityManager entityManager;
+    @Mock private ObjectMapper objectMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MessageService messageService;
+
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        User sender = new User();
+        sender.setId(5L);
+        User receiver = new User();
+        receiver.setId(2L);
+
+        message = new Message();
+        message.setId(100L);
+        message.setSender(sender);
+        message.setReceiver(receiver);
+        message.setContent("Labas");
+    }
+
+    // Ištrinta neperskaityta žinutė turi dingti iš gavėjo skaitiklio
+    @Test
+    void deleteMessage_retractsUnreadOfReceiver() {
+        when(messageRepository.findById(100L)).thenReturn(Optional.of(message));
+        when(conversationRepository.findByUserLowIdAndUserHighId(2L, 5L)).thenReturn(Optional.empty());
+
+        messageService.deleteMessage(100L, 5L);
+
+        assertTrue(message.isDeleted());
+        verify(conversationRepository).retractUnread(2L, 5L, 2L, 100L);
+    }
+
+    @Test
+    void deleteMessage_alreadyDeleted_doesNotRetractTwice() {
+        message.setDeleted(true);
+        when(messageRepository.findById(100L)).thenReturn(Optional.of(message));
+
+        messageService.deleteMessage(100L, 5L);
+
+        verify(conversationRepository, never()).retractUnread(any(), any(), any(), any());
+    }
+
+    // Ta pati taisyklė kaip 001_conversations_backfill.sql
+    @Test
+    void snippet_longContent_cutTo119CharactersPlusEllipsis() {
+        String exact = "a".repeat(120);
+        String longer = "b".repeat(121);
+
+        assertEquals(exact, MessageService.snippet(exact));
+        assertEquals("b".repeat(119) + "…", MessageService.snippet(longer));
+        // Emoji – vienas simbolis, kaip ir PostgreSQL
+        assertEquals("😀".repeat(120), MessageService.snippet("😀".repeat(120)));
+    }
+
+    // Eksportas neturi flush'inti po kiekvienos žinutės – tik kas EXPORT_CLEAR_EVERY
+    @Test
+    void exportConversation_doesNotFlushPerMessage() throws IOException {
+        ObjectMapper realMapper = new ObjectMapper().findAndRegisterModules();
+        MessageService exporter = new MessageService(messageRepository, userRepository, conversationRepository,
+                entityManager, realMapper, eventPublisher);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(new User()));
+        when(messageRepository.streamConversation(5L, 2L)).thenReturn(Stream.of(message, message, message));
+        int[] flushes = {0};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        exporter.exportConversation(5L, 2L, out);
+
+        assertEquals(0, flushes[0]);
+        assertEquals(3, realMapper.readTree(out.toByteArray()).size());
+    }
+}
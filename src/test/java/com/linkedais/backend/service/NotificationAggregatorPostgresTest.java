@@ -0,0 +1,117 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ON CONFLICT rules of NotificationAggregator need PostgreSQL (H2 has no
+ * ON CONFLICT ... DO UPDATE). Runs only when TEST_POSTGRES_URL points at an
+ * empty test database, e.g. jdbc:postgresql://localhost:5432/linkedais_test
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${TEST_POSTGRES_URL}",
+        "spring.datasource.username=${TEST_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${TEST_POSTGRES_PASSWORD:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+@Import(NotificationAggregator.class)
+class NotificationAggregatorPostgresTest {
+
+    private static final String GROUP = "COMMENT:post:7";
+
+    @Autowired
+    private NotificationAggregator notificationAggregator;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(new User("jonas@test.lt", "x", "Jonas"));
+    }
+
+    private NotificationAggregator.Result commentBy(long actorId) {
+        Notification notification = new Notification();
+        notification.setUser(owner);
+        notification.setType("COMMENT");
+        notification.setMessage("Vartotojas " + actorId + " pakomentavo jūsų įrašą");
+        notification.setPostId(7L);
+        notification.setGroupKey(GROUP);
+        notification.setLastActorId(actorId);
+        NotificationAggregator.Result result = notificationAggregator.upsert(List.of(notification));
+        entityManager.clear();
+        return result;
+    }
+
+    private Notification row() {
+        return notificationRepository.findByGroupKeyAndUserIds(GROUP, List.of(owner.getId())).get(0);
+    }
+
+    @Test
+    void newActors_growCount_repeatedActorDoesNot() {
+        commentBy(10);
+        assertEquals(1, row().getActorCount());
+
+        commentBy(11);
+        commentBy(11);
+        assertEquals(2, row().getActorCount());
+
+        commentBy(12);
+        assertEquals(3, row().getActorCount());
+        assertEquals(1, notificationRepository.findByGroupKeyAndUserIds(GROUP, List.of(owner.getId())).size());
+    }
+
+    // Perskaityta eilutė pradedama iš naujo ir vėl tampa neperskaityta (+1 skaitiklyje)
+    @Test
+    void readAggregate_startsOverAtOneAndCountsAsUnreadAgain() {
+        assertEquals(Map.of(owner.getId(), 1L), commentBy(10).newlyUnread());
+        assertEquals(Map.of(), commentBy(11).newlyUnread());
+        assertEquals(2, row().getActorCount());
+
+        notificationRepository.markAllRead(owner.getId());
+        entityManager.clear();
+
+        assertEquals(Map.of(owner.getId(), 1L), commentBy(12).newlyUnread());
+        Notification row = row();
+        assertEquals(1, row.getActorCount());
+        assertFalse(row.isRead());
+    }
+
+    // Pakilusi eilutė gauna naują (created_at, id): ne žemiau jau matyto žymeklio ir nepažymima "perskaityta iki" juo
+    @Test
+    void bumpedAggregate_takesNewKeyAboveEveryCursor() {
+        commentBy(10);
+        Notification first = row();
+
+        commentBy(11);
+        Notification bumped = row();
+
+        assertTrue(bumped.getId() > first.getId());
+        assertFalse(bumped.getCreatedAt().isBefore(first.getCreatedAt()));
+        assertTrue(notificationRepository.findBefore(owner.getId(), bumped.getCreatedAt(), bumped.getId(),
+                PageRequest.of(0, 10)).getContent().isEmpty());
+        assertEquals(0, notificationRepository.markReadUpTo(owner.getId(), first.getCreatedAt(), first.getId()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationAggregatorTest {
+
+    private static final String POST_7 = "COMMENT:post:7";
+    private static final String POST_8 = "COMMENT:post:8";
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationAggregator notificationAggregator;
+
+    private static Notification notification(long userId, String groupKey, long actorId) {
+        User user = new User();
+        user.setId(userId);
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setType("COMMENT");
+        notification.setMessage("Vartotojas " + actorId + " pakomentavo jūsų įrašą");
+        notification.setGroupKey(groupKey);
+        notification.setLastActorId(actorId);
+        return notification;
+    }
+
+    // Neperskaitytų skaičius didėja tik tiems, kurių grupės eilutė buvo perskaityta ar neegzistavo
+    @Test
+    void upsert_countsOnlyRowsThatBecomeUnread() {
+        when(notificationRepository.findUnreadGroupMembers(eq(POST_7), anyCollection())).thenReturn(List.of(2L));
+
+        NotificationAggregator.Result result = notificationAggregator.upsert(List.of(
+                notification(1, POST_7, 10), notification(2, POST_7, 10), notification(3, POST_7, 10)));
+
+        assertEquals(Map.of(1L, 1L, 3L, 1L), result.newlyUnread());
+    }
+
+    // Keli įvykiai tai pačiai grupei – viena eilutė, +1 tik kartą
+    @Test
+    void upsert_repeatedEventsForOneRow_countOnce() {
+        when(notificationRepository.findUnreadGroupMembers(eq(POST_7), anyCollection())).thenReturn(List.of());
+
+        NotificationAggregator.Result result = notificationAggregator.upsert(List.of(
+                notification(1, POST_7, 10), notification(1, POST_7, 11)));
+
+        assertEquals(Map.of(1L, 1L), result.newlyUnread());
+        verify(notificationRepository).findUnreadGroupMembers(POST_7, List.of(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void upsert_oneBatchPerGroupWithSharedTimestamp() {
+        when(notificationRepository.findUnreadGroupMembers(anyString(), anyCollection())).thenReturn(List.of());
+
+        NotificationAggregator.Result result = notificationAggregator.upsert(List.of(
+                notification(1, POST_7, 10), notification(1, POST_8, 10), notification(2, POST_7, 11)));
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> post7 = batches.getAllValues().get(0);
+        assertEquals(2, post7.size());
+        assertEquals(POST_7, post7.get(0)[6]);
+        assertEquals(11L, post7.get(1)[7]);
+        assertEquals(post7.get(0)[5], batches.getAllValues().get(1).get(0)[5]);
+        // Dvi skirtingos grupės tam pačiam vartotojui – dvi neperskaitytos eilutės
+        assertEquals(Map.of(1L, 2L, 2L, 1L), result.newlyUnread());
+    }
+}
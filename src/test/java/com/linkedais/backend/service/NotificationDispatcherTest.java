@@ -0,0 +1,187 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Connection;
+import com.linkedais.backend.model.Notification;
+import com.linkedais.backend.model.OutboxDeadLetter;
+import com.linkedais.backend.model.OutboxEvent;
+import com.linkedais.backend.repository.CommentRepository;
+import com.linkedais.backend.repository.ConnectionRepository;
+import com.linkedais.backend.repository.OutboxDeadLetterRepository;
+import com.linkedais.backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BACKOFF_MS = 1000;
+
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OutboxDeadLetterRepository deadLetterRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private ConnectionRepository connectionRepository;
+    @Mock private NotificationService notificationService;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationDispatcher(outboxEventRepository, deadLetterRepository, commentRepository,
+                connectionRepository, notificationService, transactionTemplate,
+                1, 10, BATCH_SIZE, MAX_ATTEMPTS, BACKOFF_MS);
+        // Transakcija – tiesiog vykdom callback'ą
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(connectionRepository.findWithUsersByIdIn(anyCollection())).thenAnswer(inv ->
+                inv.<List<Long>>getArgument(0).stream().map(NotificationDispatcherTest::connection).toList());
+        lenient().when(notificationService.buildConnectionNotification(any(), anyString()))
+                .thenAnswer(inv -> new Notification());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private static Connection connection(Long id) {
+        Connection connection = new Connection();
+        connection.setId(id);
+        return connection;
+    }
+
+    private static OutboxEvent event(long id, int attempts) {
+        OutboxEvent event = new OutboxEvent();
+        ReflectionTestUtils.setField(event, "id", id);
+        event.setType(OutboxEvent.CONNECTION_REQUEST);
+        event.setSubjectId(100 + id);
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Test
+    void drain_claimsBatchesUntilOneComesBackShort() {
+        OutboxEvent e1 = event(1, 0), e2 = event(2, 0), e3 = event(3, 0);
+        when(outboxEventRepository.claimDue(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(e1, e2))
+                .thenReturn(List.of(e3));
+
+        dispatcher.drain();
+
+        verify(outboxEventRepository, times(2)).claimDue(any(), eq(BATCH_SIZE));
+        verify(outboxEventRepository).deleteAllInBatch(List.of(e1, e2));
+        verify(outboxEventRepository).deleteAllInBatch(List.of(e3));
+        verify(notificationService, times(2)).saveAndPush(anyList());
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void drain_claimFails_nothingDispatched() {
+        when(outboxEventRepository.claimDue(any(), anyInt())).thenThrow(new RuntimeException("DB down"));
+
+        dispatcher.drain();
+
+        verify(outboxEventRepository, times(1)).claimDue(any(), anyInt());
+        verifyNoInteractions(notificationService);
+    }
+
+    // Batch nepavyko – kartojama po vieną; geras įvykis išsiunčiamas, blogas atidedamas
+    @Test
+    void drain_batchFails_retriesOneByOneAndBacksOffTheFailingEvent() {
+        OutboxEvent good = event(1, 0), bad = event(2, 0);
+        when(outboxEventRepository.claimDue(any(), anyInt()))
+                .thenReturn(List.of(good, bad))
+                .thenReturn(List.of());
+        when(outboxEventRepository.claimById(1L)).thenReturn(Optional.of(good));
+        when(outboxEventRepository.claimById(2L)).thenReturn(Optional.of(bad));
+        when(outboxEventRepository.findById(2L)).thenReturn(Optional.of(bad));
+        doThrow(new RuntimeException("batch failed"))
+                .doNothing()
+                .doThrow(new RuntimeException("bad event"))
+                .when(notificationService).saveAndPush(anyList());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.drain();
+
+        verify(outboxEventRepository).delete(good);
+        verify(outboxEventRepository, never()).delete(bad);
+        assertEquals(1, bad.getAttempts());
+        assertEquals("bad event", bad.getLastError());
+        assertFalse(bad.getNextAttemptAt().isBefore(before.plusNanos(BACKOFF_MS * 1_000_000)));
+    }
+
+    // Atidėjimas dvigubėja su kiekvienu bandymu
+    @Test
+    void failure_backoffDoublesPerAttempt() {
+        OutboxEvent bad = event(1, 2);
+        when(outboxEventRepository.claimDue(any(), anyInt())).thenReturn(List.of(bad));
+        when(outboxEventRepository.claimById(1L)).thenReturn(Optional.of(bad));
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(bad));
+        doThrow(new RuntimeException("bad event")).when(notificationService).saveAndPush(anyList());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.drain();
+
+        assertEquals(3, bad.getAttempts());
+        LocalDateTime next = bad.getNextAttemptAt();
+        assertFalse(next.isBefore(before.plusNanos(4 * BACKOFF_MS * 1_000_000)));
+        assertTrue(next.isBefore(before.plusNanos(8 * BACKOFF_MS * 1_000_000)));
+    }
+
+    // Paskutinis bandymas – įvykis perkeliamas į dead letter lentelę ir nebelaiko (type, subject_id)
+    @Test
+    void failure_lastAttempt_parksEventOutOfTheOutbox() {
+        OutboxEvent bad = event(1, MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.claimDue(any(), anyInt())).thenReturn(List.of(bad));
+        when(outboxEventRepository.claimById(1L)).thenReturn(Optional.of(bad));
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(bad));
+        doThrow(new RuntimeException("bad event")).when(notificationService).saveAndPush(anyList());
+
+        dispatcher.drain();
+
+        ArgumentCaptor<OutboxDeadLetter> parked = ArgumentCaptor.forClass(OutboxDeadLetter.class);
+        verify(deadLetterRepository).save(parked.capture());
+        assertEquals(OutboxEvent.CONNECTION_REQUEST, parked.getValue().getType());
+        assertEquals(101L, parked.getValue().getSubjectId());
+        assertEquals(MAX_ATTEMPTS, parked.getValue().getAttempts());
+        assertEquals("bad event", parked.getValue().getLastError());
+        verify(outboxEventRepository).delete(bad);
+    }
+
+    // Tas pats laukiantis įvykis įrašomas vieną kartą, dispečeris žadinamas tik naujam
+    @Test
+    void enqueue_pendingDuplicate_isCoalesced() {
+        NotificationOutbox outbox = new NotificationOutbox(outboxEventRepository, eventPublisher);
+        when(outboxEventRepository.insertIfAbsent(eq(OutboxEvent.COMMENT_CREATED), eq(5L), any()))
+                .thenReturn(1, 0);
+
+        outbox.enqueue(OutboxEvent.COMMENT_CREATED, 5L);
+        outbox.enqueue(OutboxEvent.COMMENT_CREATED, 5L);
+
+        verify(eventPublisher, times(1)).publishEvent(new NotificationOutbox.Enqueued(OutboxEvent.COMMENT_CREATED, 5L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Comment;
+import com.linkedais.backend.model.Like;
+import com.linkedais.backend.model.Post;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Mažas batch, kad būtų pereinami keli id intervalai
+@DataJpaTest(properties = "posts.counters.reconcile-batch-size=2")
+@Import(PostCounterReconciler.class)
+class PostCounterReconcilerTest {
+
+    @Autowired
+    private PostCounterReconciler postCounterReconciler;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> postIds = new ArrayList<>();
+    private User jonas;
+    private User ona;
+
+    @BeforeEach
+    void setUp() {
+        jonas = entityManager.persist(new User("jonas@test.lt", "x", "Jonas"));
+        ona = entityManager.persist(new User("ona@test.lt", "x", "Ona"));
+        for (int i = 0; i < 5; i++) {
+            Post post = new Post();
+            post.setContent("Įrašas " + i);
+            post.setAuthor(jonas);
+            postIds.add(entityManager.persist(post).getId());
+        }
+    }
+
+    private void like(Long postId, User user) {
+        Like like = new Like();
+        like.setPost(entityManager.find(Post.class, postId));
+        like.setUser(user);
+        entityManager.persist(like);
+    }
+
+    private void comment(Long postId) {
+        Comment comment = new Comment();
+        comment.setPost(entityManager.find(Post.class, postId));
+        comment.setAuthor(ona);
+        comment.setContent("Komentaras");
+        entityManager.persist(comment);
+    }
+
+    private void setCounters(Long postId, int likes, int comments) {
+        jdbcTemplate.update("UPDATE posts SET like_count = ?, comment_count = ? WHERE id = ?", likes, comments, postId);
+    }
+
+    private Post reload(Long postId) {
+        return postRepository.findById(postId).orElseThrow();
+    }
+
+    @Test
+    void reconcileCounters_repairsOnlyDriftedPosts() {
+        like(postIds.get(0), jonas);
+        like(postIds.get(0), ona);
+        comment(postIds.get(0));
+        comment(postIds.get(4));
+        entityManager.flush();
+        setCounters(postIds.get(0), 2, 1); // teisingi
+        setCounters(postIds.get(1), 7, 0); // per daug patiktukų
+        setCounters(postIds.get(4), 0, 0); // trūksta komentaro
+        entityManager.clear();
+
+        int repaired = postRepository.reconcileCounters(0, postIds.get(4));
+
+        assertEquals(2, repaired);
+        entityManager.clear();
+        assertEquals(2, reload(postIds.get(0)).getLikeCount());
+        assertEquals(1, reload(postIds.get(0)).getCommentCount());
+        assertEquals(0, reload(postIds.get(1)).getLikeCount());
+        assertEquals(1, reload(postIds.get(4)).getCommentCount());
+    }
+
+    // Intervalas (fromId, toId] – kraštai neperžengiami
+    @Test
+    void reconcileCounters_touchesOnlyTheRange() {
+        entityManager.flush();
+        setCounters(postIds.get(0), 3, 3);
+        setCounters(postIds.get(2), 3, 3);
+
+        int repaired = postRepository.reconcileCounters(postIds.get(0), postIds.get(2) - 1);
+
+        assertEquals(0, repaired);
+        entityManager.clear();
+        assertEquals(3, reload(postIds.get(0)).getLikeCount());
+        assertEquals(3, reload(postIds.get(2)).getLikeCount());
+    }
+
+    @Test
+    void reconcile_walksAllRanges() {
+        entityManager.flush();
+        for (Long postId : postIds) {
+            setCounters(postId, 1, 1);
+        }
+
+        postCounterReconciler.reconcile();
+
+        entityManager.clear();
+        for (Long postId : postIds) {
+            assertEquals(0, reload(postId).getLikeCount());
+            assertEquals(0, reload(postId).getCommentCount());
+        }
+    }
+}
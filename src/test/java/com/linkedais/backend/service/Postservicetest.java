@@ -1,11 +1,12 @@
 package com.linkedais.backend.service;
 
 import com.linkedais.backend.dto.CreatePostRequest;
+import com.linkedais.backend.dto.CursorPage;
+import com.linkedais.backend.dto.KeysetCursor;
 import com.linkedais.backend.dto.PostResponse;
+import com.linkedais.backend.dto.UserIdentity;
 import com.linkedais.backend.model.Post;
 import com.linkedais.backend.model.User;
-import com.linkedais.backend.repository.CommentRepository;
-import com.linkedais.backend.repository.LikeRepository;
 import com.linkedais.backend.repository.PostRepository;
 import com.linkedais.backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,16 +17,18 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,13 +36,13 @@ class PostServiceTest {
 
     @Mock private PostRepository postRepository;
     @Mock private UserRepository userRepository;
-    @Mock private LikeRepository likeRepository;
-    @Mock private CommentRepository commentRepository;
+    @Mock private UserIdentityCache userIdentityCache;
 
     @InjectMocks
     private PostService postService;
 
     private User testUser;
+    private UserIdentity testIdentity;
     private Post testPost;
 
     // Pagalbinis metodas – nustato private lauką per reflection
@@ -55,6 +58,7 @@ class PostServiceTest {
         testUser.setId(1L);
         testUser.setName("Jonas Jonaitis");
         testUser.setEmail("jonas@test.lt");
+        testIdentity = new UserIdentity(1L, "jonas@test.lt", "Jonas Jonaitis", "USER");
 
         testPost = new Post();
         setField(testPost, "id", 10L);
@@ -68,9 +72,9 @@ class PostServiceTest {
         CreatePostRequest request = new CreatePostRequest();
         request.setContent("Naujas įrašas");
 
-        when(userRepository.findByEmail("jonas@test.lt")).thenReturn(Optional.of(testUser));
+        when(userIdentityCache.resolve("jonas@test.lt")).thenReturn(testIdentity);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
         when(postRepository.save(any(Post.class))).thenReturn(testPost);
-        when(likeRepository.countByPostId(10L)).thenReturn(5);
 
         // Act
         PostResponse result = postService.createPost(request, "jonas@test.lt");
@@ -81,7 +85,7 @@ class PostServiceTest {
         assertEquals("Testas post turinys", result.getContent());
         assertEquals(1L, result.getAuthorId());
         assertEquals("Jonas Jonaitis", result.getAuthorName());
-        assertEquals(5, result.getLikeCount());
+        assertEquals(0, result.getLikeCount());
         assertEquals(0, result.getCommentCount());
         verify(postRepository, times(1)).save(any(Post.class));
     }
@@ -89,7 +93,7 @@ class PostServiceTest {
     @Test
     void createPost_userNotFound_throwsException() {
         // Arrange
-        when(userRepository.findByEmail("nera@test.lt")).thenReturn(Optional.empty());
+        when(userIdentityCache.resolve("nera@test.lt")).thenThrow(new RuntimeException("User not found"));
 
         CreatePostRequest request = new CreatePostRequest();
         request.setContent("Tekstas");
@@ -98,7 +102,7 @@ class PostServiceTest {
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> postService.createPost(request, "nera@test.lt"));
 
-        assertEquals("User no found", ex.getMessage());
+        assertEquals("User not found", ex.getMessage());
         verify(postRepository, never()).save(any());
     }
 
@@ -114,9 +118,9 @@ class PostServiceTest {
         savedPost.setContent(content);
         savedPost.setAuthor(testUser);
 
-        when(userRepository.findByEmail("jonas@test.lt")).thenReturn(Optional.of(testUser));
+        when(userIdentityCache.resolve("jonas@test.lt")).thenReturn(testIdentity);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
         when(postRepository.save(any(Post.class))).thenReturn(savedPost);
-        when(likeRepository.countByPostId(any())).thenReturn(0);
 
         PostResponse result = postService.createPost(request, "jonas@test.lt");
 
@@ -127,11 +131,10 @@ class PostServiceTest {
 
     @Test
     void getAllPosts_returnsPostList() {
-        // Arrange
-        Page<Post> page = new PageImpl<>(List.of(testPost));
-        when(postRepository.findAllByOrderByCreatedAtDesc(any(Pageable.class))).thenReturn(page);
-        when(likeRepository.countByPostId(10L)).thenReturn(3);
-        when(commentRepository.countByPostId(10L)).thenReturn(2);
+        // Arrange – projekcija jau grąžina autoriaus duomenis ir skaičius
+        PostResponse row = new PostResponse(10L, "Testas post turinys", null,
+                1L, "Jonas Jonaitis", 3, 2);
+        when(postRepository.findFeed(any(Pageable.class))).thenReturn(List.of(row));
 
         // Act
         List<PostResponse> result = postService.getAllPosts(0, 10);
@@ -147,8 +150,7 @@ class PostServiceTest {
     @Test
     void getAllPosts_noPosts_returnsEmptyList() {
         // Arrange
-        Page<Post> emptyPage = new PageImpl<>(List.of());
-        when(postRepository.findAllByOrderByCreatedAtDesc(any(Pageable.class))).thenReturn(emptyPage);
+        when(postRepository.findFeed(any(Pageable.class))).thenReturn(List.of());
 
         // Act
         List<PostResponse> result = postService.getAllPosts(0, 10);
@@ -161,20 +163,11 @@ class PostServiceTest {
     @Test
     void getAllPosts_multiplePostsReturned() {
         // Arrange – 3 postai
-        Post post2 = new Post();
-        try { setField(post2, "id", 20L); } catch (Exception e) { fail(e.getMessage()); }
-        post2.setContent("Antras įrašas");
-        post2.setAuthor(testUser);
-
-        Post post3 = new Post();
-        try { setField(post3, "id", 30L); } catch (Exception e) { fail(e.getMessage()); }
-        post3.setContent("Trečias įrašas");
-        post3.setAuthor(testUser);
-
-        Page<Post> page = new PageImpl<>(List.of(testPost, post2, post3));
-        when(postRepository.findAllByOrderByCreatedAtDesc(any(Pageable.class))).thenReturn(page);
-        when(likeRepository.countByPostId(any())).thenReturn(0);
-        when(commentRepository.countByPostId(any())).thenReturn(0);
+        List<PostResponse> rows = List.of(
+                new PostResponse(10L, "Testas post turinys", null, 1L, "Jonas Jonaitis", 0, 0),
+                new PostResponse(20L, "Antras įrašas", null, 1L, "Jonas Jonaitis", 0, 0),
+                new PostResponse(30L, "Trečias įrašas", null, 1L, "Jonas Jonaitis", 0, 0));
+        when(postRepository.findFeed(any(Pageable.class))).thenReturn(rows);
 
         // Act
         List<PostResponse> result = postService.getAllPosts(0, 10);
@@ -184,6 +177,51 @@ class PostServiceTest {
     }
 
 
+    @Test
+    void getFeed_hasNext_returnsCursorOfLastPost() {
+        // Arrange – pirmas puslapis, po jo yra daugiau įrašų
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30);
+        PostResponse row = new PostResponse(10L, "Testas post turinys", createdAt,
+                1L, "Jonas Jonaitis", 0, 0);
+        when(postRepository.findFeedSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(row), PageRequest.of(0, 1), true));
+
+        // Act
+        CursorPage<PostResponse> result = postService.getFeed(null, 1);
+
+        // Assert
+        assertTrue(result.hasNext());
+        KeysetCursor cursor = KeysetCursor.decode(result.nextCursor());
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(10L, cursor.id());
+    }
+
+    @Test
+    void getFeed_withCursor_queriesOlderPosts() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30);
+        String before = new KeysetCursor(createdAt, 10L).encode();
+        when(postRepository.findFeedBefore(eq(createdAt), eq(10L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // Act
+        CursorPage<PostResponse> result = postService.getFeed(before, 10);
+
+        // Assert
+        assertTrue(result.items().isEmpty());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getFeed_invalidCursor_throwsException() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> postService.getFeed("not-a-cursor", 10));
+
+        assertEquals("Invalid cursor", ex.getMessage());
+    }
+
+
     @Test
     void deletePostById_authorDeletes_success() {
         // Arrange
@@ -0,0 +1,82 @@
+package com.linkedais.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushHubTest {
+
+    // Skaičiuoja gautus įvykius vietoj rašymo į socket'ą
+    static final class CountingEmitter extends SseEmitter {
+        final AtomicInteger sent = new AtomicInteger();
+
+        CountingEmitter() {
+            super(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.incrementAndGet();
+        }
+    }
+
+    private static List<CountingEmitter> connect(PushHub hub, int streams) {
+        List<CountingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < streams; i++) {
+            CountingEmitter emitter = new CountingEmitter();
+            hub.register((long) i, emitter);
+            emitters.add(emitter);
+        }
+        return emitters;
+    }
+
+    @Test
+    void heartbeat_pingsStreamsInBatches() {
+        List<Runnable> tasks = new ArrayList<>();
+        PushHub hub = new PushHub(tasks::add, Long.MAX_VALUE);
+        List<CountingEmitter> emitters = connect(hub, 2 * PushHub.HEARTBEAT_BATCH + 1);
+
+        hub.heartbeat();
+
+        assertEquals(3, tasks.size());
+        tasks.forEach(Runnable::run);
+        assertTrue(emitters.stream().allMatch(e -> e.sent.get() == 1));
+    }
+
+    // Pilna eilė – ping'ai praleidžiami, o ne siunčiami scheduler'io gijoje
+    @Test
+    void heartbeat_senderQueueFull_skipsPingsInsteadOfRunningThemInline() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.CallerRunsPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            pool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pool.execute(() -> {}); // užpildo eilę
+            PushHub hub = new PushHub(pool, Long.MAX_VALUE);
+            List<CountingEmitter> emitters = connect(hub, 10);
+
+            hub.heartbeat();
+
+            assertTrue(emitters.stream().allMatch(e -> e.sent.get() == 0));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.linkedais.backend.service;
+
+import com.linkedais.backend.model.Course;
+import com.linkedais.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared setup of the statement-count tests (needs
+ * hibernate.generate_statistics=true). Every user has skills and courses, so
+ * a read path that loads them shows up as extra statements.
+ */
+final class QueryCountFixture {
+
+    private final TestEntityManager entityManager;
+    private final Statistics statistics;
+    private final Course databases;
+    private final Course algorithms;
+    private int users;
+
+    QueryCountFixture(TestEntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.databases = entityManager.persist(new Course("Duomenų bazės", "Kazlauskas"));
+        this.algorithms = entityManager.persist(new Course("Algoritmai", "Petraitis"));
+    }
+
+    User user() {
+        User user = new User("vartotojas" + (++users) + "@test.lt", "x", "Vartotojas " + users);
+        user.setSkills(List.of("Java", "SQL"));
+        user.setCourses(Set.of(databases, algorithms));
+        return entityManager.persist(user);
+    }
+
+    // Statements of one call on an empty persistence context; no collection may be loaded
+    long statementsOf(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.run();
+        assertEquals(0, statistics.getCollectionFetchCount());
+        return statistics.getPrepareStatementCount();
+    }
+}
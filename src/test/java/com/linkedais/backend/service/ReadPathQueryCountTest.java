@@ -0,0 +1,138 @@
+package com.linkedais.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedais.backend.dto.ConversationSummary;
+import com.linkedais.backend.dto.MessageResponse;
+import com.linkedais.backend.dto.PostResponse;
+import com.linkedais.backend.model.Conversation;
+import com.linkedais.backend.model.Message;
+import com.linkedais.backend.model.Post;
+import com.linkedais.backend.model.User;
+import com.linkedais.backend.repository.ConversationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts of the feed, the inbox and conversation history. While
+ * User skills and courses were EAGER, each loaded user cost two more selects.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PostService.class, MessageService.class})
+class ReadPathQueryCountTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Skaitymo keliams nereikalingi
+    @MockitoBean
+    private UserIdentityCache userIdentityCache;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    private QueryCountFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new QueryCountFixture(entityManager, entityManagerFactory);
+    }
+
+    // Vienas autorius – vienas įrašas
+    private void posts(int count) {
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setContent("Įrašas " + i);
+            post.setAuthor(fixture.user());
+            entityManager.persist(post);
+        }
+    }
+
+    @Test
+    void getAllPosts_oneStatementWhateverThePageSize() {
+        posts(20);
+
+        long small = fixture.statementsOf(() -> assertEquals(5, postService.getAllPosts(0, 5).size()));
+        long large = fixture.statementsOf(() -> {
+            List<PostResponse> feed = postService.getAllPosts(0, 20);
+            assertEquals(20, feed.size());
+            assertNotNull(feed.get(0).getAuthorName());
+        });
+
+        assertEquals(1, small);
+        assertEquals(1, large);
+    }
+
+    @Test
+    void getInbox_userRowAndOneInboxQuery() {
+        User me = fixture.user();
+        for (int i = 0; i < 10; i++) {
+            User partner = fixture.user();
+            Long low = Math.min(me.getId(), partner.getId());
+            Long high = Math.max(me.getId(), partner.getId());
+            entityManager.persist(me.getId().equals(low) ? new Conversation(me, partner) : new Conversation(partner, me));
+            entityManager.flush();
+            conversationRepository.recordMessage(low, high, 100L + i, "Labas", LocalDateTime.now(), partner.getId(),
+                    partner.getId().equals(low) ? 0 : 1, partner.getId().equals(low) ? 1 : 0);
+        }
+
+        long statements = fixture.statementsOf(() -> {
+            List<ConversationSummary> inbox = messageService.getInbox(me.getId(), 0, 20);
+            assertEquals(10, inbox.size());
+        });
+
+        // users eilutė (be skills/courses) + inbox
+        assertEquals(2, statements);
+    }
+
+    // Atsakymai neturi krauti tėvinių žinučių (nei jų siuntėjų ir gavėjų)
+    @Test
+    void getConversationPage_repliesDoNotLoadTheirParents() {
+        User a = fixture.user();
+        User b = fixture.user();
+        Message parent = entityManager.persist(message(a, b, null));
+        for (int i = 0; i < 10; i++) {
+            entityManager.persist(message(i % 2 == 0 ? b : a, i % 2 == 0 ? a : b, parent));
+        }
+
+        long statements = fixture.statementsOf(() -> {
+            List<MessageResponse> page = messageService.getConversationPage(a.getId(), b.getId(), null, null, 20).items();
+            assertEquals(11, page.size());
+            assertEquals(parent.getId(), page.get(0).parentMessageId());
+        });
+
+        // Du users patikrinimai + puslapis
+        assertEquals(3, statements);
+    }
+
+    private static Message message(User sender, User receiver, Message parent) {
+        Message message = new Message();
+        message.setSender(sender);
+        message.setReceiver(receiver);
+        message.setContent("Labas");
+        message.setParentMessage(parent);
+        return message;
+    }
+}
@@ -0,0 +1,37 @@
+package com.linkedais.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void sample_staysWithinRange() {
+        ZipfSampler sampler = new ZipfSampler(50, 1.1);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 50, "rank " + rank);
+        }
+    }
+
+    @Test
+    void sample_lowRanksDominate() {
+        ZipfSampler sampler = new ZipfSampler(1_000, 1.1);
+        Random random = new Random(1);
+        int[] counts = new int[1_001];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        // Zipf: 1 rangas ~2 kartus dažnesnis už 2, o už 100 – ~160 kartų
+        assertTrue(counts[1] > counts[2]);
+        assertTrue(counts[2] > counts[10]);
+        assertTrue(counts[1] > 50 * counts[100]);
+    }
+}